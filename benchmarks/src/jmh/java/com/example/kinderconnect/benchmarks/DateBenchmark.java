@@ -0,0 +1,72 @@
+package com.example.kinderconnect.benchmarks;
+
+import com.example.kinderconnect.data.repository.AttendanceRepository;
+import com.example.kinderconnect.utils.DateUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Normalización y formato de fechas sobre 100k filas de asistencia.
+ * Los resultados se reportan por fila.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateBenchmark {
+
+    private Date[] dates;
+
+    @Setup
+    public void setUp() {
+        dates = SyntheticData.attendanceDates();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SyntheticData.ATTENDANCE_ROWS)
+    public void normalizeDate(Blackhole blackhole) {
+        for (Date date : dates) {
+            blackhole.consume(AttendanceRepository.normalizeDate(date));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SyntheticData.ATTENDANCE_ROWS)
+    public void formatDate(Blackhole blackhole) {
+        for (Date date : dates) {
+            blackhole.consume(DateUtils.formatDate(date));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SyntheticData.ATTENDANCE_ROWS)
+    public void formatDayKey(Blackhole blackhole) {
+        for (Date date : dates) {
+            blackhole.consume(DateUtils.formatDayKey(date));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SyntheticData.ATTENDANCE_ROWS)
+    public void relativeTimeString(Blackhole blackhole) {
+        for (Date date : dates) {
+            blackhole.consume(DateUtils.getRelativeTimeString(date));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.kinderconnect.benchmarks;
+
+import com.example.kinderconnect.data.mapper.AttendanceMapper;
+import com.example.kinderconnect.data.mapper.GradeMapper;
+import com.example.kinderconnect.data.mapper.NoticeMapper;
+import com.example.kinderconnect.data.model.Grade;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión de mapas de documento a modelos con los DocumentMapper y construcción del
+ * mapa de evaluaciones de Grade. La comparación contra toObject() está en el módulo
+ * microbenchmark, porque necesita el SDK de Firestore en un dispositivo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelMappingBenchmark {
+    private static final int GRADES = 1_000;
+
+    private List<Map<String, Object>> noticeDocuments;
+    private List<Map<String, Object>> attendanceDocuments;
+    private List<Map<String, Object>> gradeDocuments;
+
+    @Setup
+    public void setUp() {
+        noticeDocuments = SyntheticData.noticeDocuments();
+        attendanceDocuments = SyntheticData.attendanceDocuments();
+        gradeDocuments = SyntheticData.gradeDocuments(GRADES);
+    }
+
+    @Benchmark
+    public void mapNotices(Blackhole blackhole) {
+        for (int i = 0; i < noticeDocuments.size(); i++) {
+            blackhole.consume(NoticeMapper.INSTANCE.map("notice" + i, noticeDocuments.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void mapAttendance(Blackhole blackhole) {
+        for (int i = 0; i < attendanceDocuments.size(); i++) {
+            blackhole.consume(AttendanceMapper.INSTANCE.map("attendance" + i, attendanceDocuments.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void mapGrades(Blackhole blackhole) {
+        for (int i = 0; i < gradeDocuments.size(); i++) {
+            blackhole.consume(GradeMapper.INSTANCE.map("grade" + i, gradeDocuments.get(i)));
+        }
+    }
+
+    // Lo que hace GradeRegistrationFragment al guardar: un Grade con las 6 áreas
+    @Benchmark
+    public void buildGrades(Blackhole blackhole) {
+        for (int i = 0; i < GRADES; i++) {
+            Grade grade = new Grade("student" + i, "teacher" + (i % 40), i % 3 + 1);
+            for (int area = 1; area <= 6; area++) {
+                grade.addEvaluation("area" + area, "Área " + area, "ESPERADO", "Sin observaciones");
+            }
+            blackhole.consume(grade);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.kinderconnect.benchmarks;
+
+import com.example.kinderconnect.data.model.Notice;
+import com.example.kinderconnect.data.repository.NoticeMerger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mezcla y orden de avisos de escuela + grupo (NoticeRepository.getNoticesForParent)
+ * con 10k avisos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoticeMergeBenchmark {
+
+    private Map<String, Notice> schoolNotices;
+    private Map<String, Notice> groupNotices;
+
+    @Setup
+    public void setUp() {
+        schoolNotices = SyntheticData.schoolNotices();
+        groupNotices = SyntheticData.groupNotices();
+    }
+
+    @Benchmark
+    public List<Notice> mergeAndSort() {
+        return NoticeMerger.merge(schoolNotices, groupNotices);
+    }
+}
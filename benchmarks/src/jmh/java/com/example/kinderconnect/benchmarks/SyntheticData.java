@@ -0,0 +1,118 @@
+package com.example.kinderconnect.benchmarks;
+
+import com.example.kinderconnect.data.model.Notice;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Datos sintéticos a escala de escuela. La semilla es fija para que cada corrida
+ * mida exactamente los mismos datos.
+ */
+final class SyntheticData {
+    static final int NOTICES = 10_000;
+    static final int ATTENDANCE_ROWS = 100_000;
+
+    private static final long SEED = 42L;
+    private static final long NOW = 1_741_910_400_000L; // 2025-03-14
+    private static final long YEAR_MS = TimeUnit.DAYS.toMillis(365);
+    private static final String[] STATUSES = {"PRESENT", "LATE", "ABSENT"};
+
+    private SyntheticData() {
+    }
+
+    // Un cuarto de los avisos son de la escuela; el resto del grupo, con algunos repetidos
+    static Map<String, Notice> schoolNotices() {
+        return notices(0, NOTICES / 4, "SCHOOL");
+    }
+
+    static Map<String, Notice> groupNotices() {
+        return notices(NOTICES / 4 - 100, NOTICES, "GROUP");
+    }
+
+    private static Map<String, Notice> notices(int from, int to, String scope) {
+        Random random = new Random(SEED + from);
+        Map<String, Notice> notices = new LinkedHashMap<>();
+        for (int i = from; i < to; i++) {
+            Notice notice = new Notice("teacher" + (i % 40), "Aviso " + i,
+                    "Descripción del aviso " + i, "RECORDATORIO", scope);
+            notice.setNoticeId("notice" + i);
+            notice.setGroupName("2 A");
+            notice.setPublishedAt(new Date(NOW - (long) (random.nextDouble() * YEAR_MS)));
+            notices.put(notice.getNoticeId(), notice);
+        }
+        return notices;
+    }
+
+    static Date[] attendanceDates() {
+        Random random = new Random(SEED);
+        Date[] dates = new Date[ATTENDANCE_ROWS];
+        for (int i = 0; i < ATTENDANCE_ROWS; i++) {
+            dates[i] = new Date(NOW - (long) (random.nextDouble() * YEAR_MS));
+        }
+        return dates;
+    }
+
+    // Mapas como los que devuelve DocumentSnapshot.getData()
+    static List<Map<String, Object>> noticeDocuments() {
+        List<Map<String, Object>> documents = new ArrayList<>(NOTICES);
+        Random random = new Random(SEED);
+        for (int i = 0; i < NOTICES; i++) {
+            Map<String, Object> data = new HashMap<>();
+            data.put("teacherId", "teacher" + (i % 40));
+            data.put("teacherName", "Maestra " + (i % 40));
+            data.put("title", "Aviso " + i);
+            data.put("description", "Descripción del aviso " + i);
+            data.put("category", "RECORDATORIO");
+            data.put("scope", i % 4 == 0 ? "SCHOOL" : "GROUP");
+            data.put("groupName", "2 A");
+            data.put("publishedAt", new Date(NOW - (long) (random.nextDouble() * YEAR_MS)));
+            documents.add(data);
+        }
+        return documents;
+    }
+
+    static List<Map<String, Object>> attendanceDocuments() {
+        List<Map<String, Object>> documents = new ArrayList<>(ATTENDANCE_ROWS);
+        Random random = new Random(SEED);
+        for (int i = 0; i < ATTENDANCE_ROWS; i++) {
+            Map<String, Object> data = new HashMap<>();
+            data.put("studentId", "student" + (i % 500));
+            data.put("teacherId", "teacher" + (i % 40));
+            data.put("attendanceDate", new Date(NOW - (long) (random.nextDouble() * YEAR_MS)));
+            data.put("status", STATUSES[random.nextInt(STATUSES.length)]);
+            data.put("recordedAt", new Date(NOW));
+            data.put("parentNotified", random.nextBoolean());
+            documents.add(data);
+        }
+        return documents;
+    }
+
+    static List<Map<String, Object>> gradeDocuments(int count) {
+        List<Map<String, Object>> documents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> evaluations = new HashMap<>();
+            for (int area = 1; area <= 6; area++) {
+                Map<String, Object> evaluation = new HashMap<>();
+                evaluation.put("areaName", "Área " + area);
+                evaluation.put("level", "ESPERADO");
+                evaluation.put("observations", "Sin observaciones");
+                evaluations.put("area" + area, evaluation);
+            }
+            Map<String, Object> data = new HashMap<>();
+            data.put("studentId", "student" + i);
+            data.put("teacherId", "teacher" + (i % 40));
+            data.put("period", (long) (i % 3 + 1));
+            data.put("evaluations", evaluations);
+            data.put("updatedAt", new Date(NOW));
+            documents.add(data);
+        }
+        return documents;
+    }
+}
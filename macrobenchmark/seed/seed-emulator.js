@@ -0,0 +1,136 @@
+/*
+ * Siembra los emuladores de Firebase con datos a escala de escuela para Macrobenchmark.
+ *
+ *   firebase emulators:start --only firestore,auth,storage
+ *   npm install --no-save firebase-admin
+ *   GCLOUD_PROJECT=<project_id de google-services.json> node macrobenchmark/seed/seed-emulator.js
+ *
+ * El emulador separa los datos por proyecto, así que GCLOUD_PROJECT debe coincidir con el
+ * proyecto con el que se compiló la app.
+ * Crea una maestra y un padre (ver macrobenchmark/.../Accounts.java) con un grupo de
+ * 30 alumnos, 500 avisos, 300 fotos de galería y 300 notificaciones por usuario.
+ * Todo corre contra localhost: no toca el proyecto real.
+ */
+process.env.FIRESTORE_EMULATOR_HOST = process.env.FIRESTORE_EMULATOR_HOST || 'localhost:8080';
+process.env.FIREBASE_AUTH_EMULATOR_HOST = process.env.FIREBASE_AUTH_EMULATOR_HOST || 'localhost:9099';
+
+const admin = require('firebase-admin');
+
+const PROJECT_ID = process.env.GCLOUD_PROJECT || 'kinderconnect-benchmark';
+const PASSWORD = 'benchmark123';
+const TEACHER = { uid: 'bench-teacher', email: 'maestra@benchmark.test', name: 'Maestra Benchmark' };
+const PARENT = { uid: 'bench-parent', email: 'padre@benchmark.test', name: 'Padre Benchmark' };
+const GRADE = '2do';
+const GROUP = 'A';
+const GROUP_NAME = `${GRADE} ${GROUP}`;
+
+const STUDENTS = 30;
+const NOTICES = 500;
+const GALLERY_ITEMS = 300;
+const NOTIFICATIONS = 300;
+const BATCH_SIZE = 450;
+
+admin.initializeApp({ projectId: PROJECT_ID });
+const db = admin.firestore();
+const now = Date.now();
+const daysAgo = (days) => admin.firestore.Timestamp.fromMillis(now - days * 24 * 60 * 60 * 1000);
+
+async function commitAll(writes) {
+  for (let i = 0; i < writes.length; i += BATCH_SIZE) {
+    const batch = db.batch();
+    writes.slice(i, i + BATCH_SIZE).forEach(([ref, data]) => batch.set(ref, data));
+    await batch.commit();
+  }
+}
+
+async function createUser(user, userType) {
+  try {
+    await admin.auth().createUser({ uid: user.uid, email: user.email, password: PASSWORD });
+  } catch (e) {
+    if (e.code !== 'auth/uid-already-exists') throw e;
+  }
+  return [db.collection('users').doc(user.uid), {
+    email: user.email,
+    fullName: user.name,
+    userType,
+    phone: '5550000000',
+    active: true,
+    createdAt: daysAgo(365),
+  }];
+}
+
+async function main() {
+  const writes = [
+    await createUser(TEACHER, 'TEACHER'),
+    await createUser(PARENT, 'PARENT'),
+    [db.collection('groups').doc('bench-group'), {
+      teacherId: TEACHER.uid,
+      teacherEmail: TEACHER.email,
+      teacherName: TEACHER.name,
+      grade: GRADE,
+      groupName: GROUP,
+      createdAt: daysAgo(365),
+    }],
+  ];
+
+  for (let i = 0; i < STUDENTS; i++) {
+    writes.push([db.collection('students').doc(`bench-student-${i}`), {
+      fullName: `Alumno ${String(i).padStart(2, '0')}`,
+      birthDate: daysAgo(365 * 5 + i),
+      // El primer alumno es el hijo del padre de prueba
+      parentId: i === 0 ? PARENT.uid : `bench-parent-${i}`,
+      teacherId: TEACHER.uid,
+      groupName: GROUP_NAME,
+      emergencyContact: '5551234567',
+      allergies: 'Ninguna',
+      active: true,
+      createdAt: daysAgo(300),
+    }]);
+  }
+
+  for (let i = 0; i < NOTICES; i++) {
+    const school = i % 5 === 0;
+    writes.push([db.collection('notices').doc(`bench-notice-${i}`), {
+      teacherId: TEACHER.uid,
+      teacherName: TEACHER.name,
+      title: `Aviso ${i}`,
+      description: `Recordatorio número ${i} para las familias del grupo.`,
+      category: ['TAREA', 'EVENTO', 'RECORDATORIO', 'URGENTE'][i % 4],
+      scope: school ? 'SCHOOL' : 'GROUP',
+      groupName: school ? null : GROUP_NAME,
+      publishedAt: daysAgo(i / 3),
+    }]);
+  }
+
+  for (let i = 0; i < GALLERY_ITEMS; i++) {
+    writes.push([db.collection('gallery').doc(`bench-gallery-${i}`), {
+      teacherId: TEACHER.uid,
+      mediaType: 'IMAGE',
+      description: `Actividad ${i}`,
+      taggedStudents: ['bench-student-0', `bench-student-${i % STUDENTS}`],
+      groupName: GROUP_NAME,
+      uploadedAt: daysAgo(i / 4),
+    }]);
+  }
+
+  for (const user of [TEACHER, PARENT]) {
+    for (let i = 0; i < NOTIFICATIONS; i++) {
+      writes.push([db.collection('notifications').doc(`bench-${user.uid}-${i}`), {
+        userId: user.uid,
+        title: `Notificación ${i}`,
+        body: 'Hay novedades en KinderConnect.',
+        type: ['ATTENDANCE', 'NOTICE', 'BUS_ROUTE'][i % 3],
+        read: i % 4 !== 0,
+        timestamp: daysAgo(i / 10),
+      }]);
+    }
+  }
+
+  await commitAll(writes);
+  console.log(`Sembrados ${writes.length} documentos en ${PROJECT_ID}`);
+}
+
+main().then(() => process.exit(0)).catch((e) => {
+  console.error(e);
+  process.exit(1);
+});
@@ -0,0 +1,84 @@
+package com.example.kinderconnect.macrobenchmark;
+
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+/**
+ * Sesiones de prueba sembradas por macrobenchmark/seed/seed-emulator.js.
+ * La app del build "benchmark" apunta a los emuladores de Firebase (use_firebase_emulator
+ * en main/res/values/config.xml), así que todo corre sin red en un emulador x86.
+ */
+final class Accounts {
+    static final String PACKAGE = "com.example.kinderconnect";
+    static final long TIMEOUT_MS = 15_000;
+
+    enum Role {
+        TEACHER("maestra@benchmark.test"),
+        PARENT("padre@benchmark.test");
+
+        final String email;
+
+        Role(String email) {
+            this.email = email;
+        }
+    }
+
+    private static final String PASSWORD = "benchmark123";
+    private static final String[] RUNTIME_PERMISSIONS = {
+            "android.permission.POST_NOTIFICATIONS",
+            "android.permission.ACCESS_FINE_LOCATION",
+            "android.permission.ACCESS_COARSE_LOCATION"
+    };
+
+    // Rol con el que quedó la app; cambiar de rol borra los datos y vuelve a iniciar sesión
+    private static Role currentRole;
+
+    private Accounts() {
+    }
+
+    static void ensureLoggedIn(MacrobenchmarkScope scope, Role role) {
+        if (role == currentRole) return;
+        logIn(scope, role);
+    }
+
+    // Siempre parte de una app sin datos y pasa por LoginActivity
+    static void logIn(MacrobenchmarkScope scope, Role role) {
+        UiDevice device = scope.getDevice();
+        shell(device, "pm clear " + PACKAGE);
+        // Sin diálogos de permisos que tapen la pantalla medida
+        for (String permission : RUNTIME_PERMISSIONS) {
+            shell(device, "pm grant " + PACKAGE + " " + permission);
+        }
+
+        scope.startActivityAndWait();
+        device.wait(Until.hasObject(By.res(PACKAGE, "etEmail")), TIMEOUT_MS);
+        device.findObject(By.res(PACKAGE, "etEmail")).setText(role.email);
+        device.findObject(By.res(PACKAGE, "etPassword")).setText(PASSWORD);
+        device.findObject(By.res(PACKAGE, "btnLogin")).click();
+
+        if (!device.wait(Until.hasObject(By.res(PACKAGE, "bottomNavigation")), TIMEOUT_MS)) {
+            throw new IllegalStateException("No se pudo iniciar sesión como " + role
+                    + ". ¿Están corriendo y sembrados los emuladores?");
+        }
+        currentRole = role;
+    }
+
+    static UiObject2 waitFor(UiDevice device, String resourceId) {
+        UiObject2 view = device.wait(Until.findObject(By.res(PACKAGE, resourceId)), TIMEOUT_MS);
+        if (view == null) {
+            throw new IllegalStateException("No apareció la vista " + resourceId);
+        }
+        return view;
+    }
+
+    private static void shell(UiDevice device, String command) {
+        try {
+            device.executeShellCommand(command);
+        } catch (java.io.IOException e) {
+            throw new IllegalStateException("Falló el comando: " + command, e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.kinderconnect.macrobenchmark;
+
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import kotlin.Unit;
+
+/**
+ * Genera el baseline profile de la app con los recorridos más usados: inicio de sesión,
+ * arranque hasta el inicio del padre, ruta del autobús y pase de lista de la maestra.
+ * El resultado se copia tal cual a main/baseline-prof.txt; el que hay ahora es un perfil
+ * provisional escrito a mano (ver su cabecera).
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class BaselineProfileGenerator {
+    private static final int MAX_ITERATIONS = 15;
+    private static final int STABLE_ITERATIONS = 3;
+
+    @Rule
+    public BaselineProfileRule baselineProfileRule = new BaselineProfileRule();
+
+    @Test
+    public void generate() {
+        baselineProfileRule.collect(
+                Accounts.PACKAGE,
+                MAX_ITERATIONS,
+                STABLE_ITERATIONS,
+                null,
+                true, // también como startup profile para el orden del DEX
+                false,
+                className -> className.startsWith("com/example/kinderconnect/")
+                        || !className.startsWith("com/example/"),
+                scope -> {
+                    parentJourney(scope);
+                    teacherJourney(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+
+    // Login -> inicio del padre -> arranque en frío -> ruta del autobús
+    private static void parentJourney(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        Accounts.logIn(scope, Accounts.Role.PARENT);
+        Accounts.waitFor(device, "tvStudentName");
+
+        // Arranque con sesión: KinderConnectApp -> SplashActivity -> ParentHomeFragment
+        scope.killProcess();
+        scope.startActivityAndWait();
+        Accounts.waitFor(device, "tvStudentName");
+
+        Accounts.waitFor(device, "busRouteFragment").click();
+        Accounts.waitFor(device, "tvBusStatus");
+    }
+
+    // Login -> inicio de la maestra -> pase de lista
+    private static void teacherJourney(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        Accounts.logIn(scope, Accounts.Role.TEACHER);
+        Accounts.waitFor(device, "cardAttendance").click();
+
+        UiObject2 list = Accounts.waitFor(device, "recyclerView");
+        list.setGestureMargin(device.getDisplayWidth() / 5);
+        list.fling(Direction.DOWN);
+        device.waitForIdle();
+        Accounts.waitFor(device, "btnSaveAndNotify");
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.kinderconnect.macrobenchmark;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import kotlin.Unit;
+
+/**
+ * Tiempos de frame (P50/P90/P95/P99 de FrameTimingMetric) al hacer scroll en las listas
+ * más pesadas. Los resultados quedan en el JSON de salida del benchmark para comparar
+ * entre versiones.
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class ScrollBenchmark {
+    private static final int ITERATIONS = 5;
+    private static final int FLINGS = 5;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    @Test
+    public void galleryFragment() {
+        measureScroll(Accounts.Role.PARENT, "cardGallery");
+    }
+
+    @Test
+    public void noticeListFragment() {
+        measureScroll(Accounts.Role.PARENT, "cardNotices");
+    }
+
+    @Test
+    public void notificationsFragment() {
+        // El item del BottomNavigationView tiene el id del destino
+        measureScroll(Accounts.Role.PARENT, "notificationsFragment");
+    }
+
+    @Test
+    public void attendanceFragment() {
+        measureScroll(Accounts.Role.TEACHER, "cardAttendance");
+    }
+
+    /**
+     * Abre la app con el rol indicado, entra a la pantalla tocando {@code entryPointId}
+     * y mide solo el scroll de su recyclerView.
+     */
+    private void measureScroll(Accounts.Role role, String entryPointId) {
+        benchmarkRule.measureRepeated(
+                Accounts.PACKAGE,
+                Collections.singletonList(new FrameTimingMetric()),
+                new CompilationMode.Partial(),
+                StartupMode.WARM,
+                ITERATIONS,
+                scope -> {
+                    Accounts.ensureLoggedIn(scope, role);
+                    scope.startActivityAndWait();
+                    Accounts.waitFor(scope.getDevice(), entryPointId).click();
+                    Accounts.waitFor(scope.getDevice(), "recyclerView");
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    scrollList(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+
+    private static void scrollList(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        UiObject2 list = Accounts.waitFor(device, "recyclerView");
+        // Margen para que el gesto no abra la barra de notificaciones ni el gesto de atrás
+        list.setGestureMargin(device.getDisplayWidth() / 5);
+        for (int i = 0; i < FLINGS; i++) {
+            list.fling(Direction.DOWN);
+            device.waitForIdle();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.kinderconnect.macrobenchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.filters.LargeTest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+
+import kotlin.Unit;
+import java.util.List;
+
+/**
+ * Arranque en frío y en caliente desde SplashActivity hasta la pantalla principal
+ * de cada rol (ParentMainActivity / TeacherMainActivity).
+ * Se mide sin compilar y con el baseline profile obligatorio; la diferencia entre
+ * ambos timeToInitialDisplayMs es la mejora que aporta main/baseline-prof.txt.
+ */
+@LargeTest
+@RunWith(Parameterized.class)
+public class StartupBenchmark {
+    private static final int ITERATIONS = 10;
+
+    enum Compilation {
+        NONE,
+        BASELINE_PROFILE;
+
+        CompilationMode toMode() {
+            return this == NONE
+                    ? new CompilationMode.None()
+                    : new CompilationMode.Partial(BaselineProfileMode.Require);
+        }
+    }
+
+    @Parameterized.Parameters(name = "{0}-{1}-{2}")
+    public static Collection<Object[]> parameters() {
+        List<Object[]> parameters = new ArrayList<>();
+        for (Accounts.Role role : Accounts.Role.values()) {
+            for (StartupMode mode : new StartupMode[]{StartupMode.COLD, StartupMode.WARM}) {
+                for (Compilation compilation : Compilation.values()) {
+                    parameters.add(new Object[]{role, mode, compilation});
+                }
+            }
+        }
+        return parameters;
+    }
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    private final Accounts.Role role;
+    private final StartupMode startupMode;
+    private final Compilation compilation;
+
+    public StartupBenchmark(Accounts.Role role, StartupMode startupMode, Compilation compilation) {
+        this.role = role;
+        this.startupMode = startupMode;
+        this.compilation = compilation;
+    }
+
+    @Test
+    public void startup() {
+        benchmarkRule.measureRepeated(
+                Accounts.PACKAGE,
+                Collections.singletonList(new StartupTimingMetric()),
+                compilation.toMode(),
+                startupMode,
+                ITERATIONS,
+                scope -> {
+                    Accounts.ensureLoggedIn(scope, role);
+                    scope.pressHome();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    // El launcher abre SplashActivity, que salta a la actividad del rol
+                    scope.startActivityAndWait();
+                    Accounts.waitFor(scope.getDevice(), "bottomNavigation");
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -1,48 +1,92 @@
 package com.example.kinderconnect;
 
+import android.app.Activity;
 import android.app.Application;
-import androidx.work.Constraints;
-import androidx.work.ExistingPeriodicWorkPolicy;
-import androidx.work.NetworkType;
-import androidx.work.PeriodicWorkRequest;
-import androidx.work.WorkManager;
-import com.example.kinderconnect.utils.Constants;
-import com.example.kinderconnect.utils.NotificationHelper;
-import com.example.kinderconnect.workers.SyncWorker;
-import java.util.concurrent.TimeUnit;
+import android.content.Context;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.View;
+import android.view.ViewTreeObserver;
+import androidx.annotation.NonNull;
+import androidx.startup.AppInitializer;
+import com.example.kinderconnect.startup.DeferredInitializer;
 
+/**
+ * La inicialización vive en el paquete startup (androidx App Startup):
+ * FirestoreInitializer se ejecuta desde el manifest y calienta Firestore en segundo plano;
+ * el resto (canales, SyncWorker, Glide, mapas) espera al primer frame de la primera actividad.
+ */
 public class KinderConnectApp extends Application {
+    private static KinderConnectApp instance;
+
+    // Contexto de aplicación para los repositorios, que no reciben Context
+    public static KinderConnectApp getInstance() {
+        return instance;
+    }
+
+    @Override
+    protected void attachBaseContext(Context base) {
+        super.attachBaseContext(base);
+        // Los initializers corren antes de onCreate() y FirestoreProvider ya necesita la instancia
+        instance = this;
+    }
 
     @Override
     public void onCreate() {
         super.onCreate();
 
-        // Crear canales de notificación
-        NotificationHelper.createNotificationChannels(this);
+        // Espera a la primera actividad que llegue a onResume (Splash, o la que se restaure)
+        registerActivityLifecycleCallbacks(new FirstActivityCallbacks());
+    }
 
-        // Configurar sincronización periódica
-        setupPeriodicSync();
+    private void initDeferred() {
+        AppInitializer.getInstance(this).initializeComponent(DeferredInitializer.class);
     }
 
-    private void setupPeriodicSync() {
-        // Configurar restricciones
-        Constraints constraints = new Constraints.Builder()
-                .setRequiredNetworkType(NetworkType.CONNECTED)
-                .setRequiresBatteryNotLow(true)
-                .build();
-
-        // Crear trabajo periódico (cada 15 minutos es el mínimo)
-        PeriodicWorkRequest syncWorkRequest =
-                new PeriodicWorkRequest.Builder(SyncWorker.class, 15, TimeUnit.MINUTES)
-                        .setConstraints(constraints)
-                        .addTag(Constants.WORK_TAG_SYNC)
-                        .build();
-
-        // Encolar el trabajo
-        WorkManager.getInstance(this).enqueueUniquePeriodicWork(
-                Constants.WORK_TAG_SYNC,
-                ExistingPeriodicWorkPolicy.KEEP,
-                syncWorkRequest
-        );
+    /**
+     * Lanza DeferredInitializer cuando la primera actividad ya dibujó su primer frame:
+     * el OnDrawListener marca el frame y el post corre justo después de que termina.
+     */
+    private final class FirstActivityCallbacks implements ActivityLifecycleCallbacks {
+
+        @Override
+        public void onActivityResumed(@NonNull Activity activity) {
+            unregisterActivityLifecycleCallbacks(this);
+            View decorView = activity.getWindow().getDecorView();
+            Handler handler = new Handler(Looper.getMainLooper());
+            decorView.getViewTreeObserver().addOnDrawListener(new ViewTreeObserver.OnDrawListener() {
+                private boolean drawn;
+
+                @Override
+                public void onDraw() {
+                    if (drawn) return;
+                    drawn = true;
+                    // No se puede quitar el listener dentro de onDraw()
+                    handler.post(() -> {
+                        decorView.getViewTreeObserver().removeOnDrawListener(this);
+                        initDeferred();
+                    });
+                }
+            });
+        }
+
+        @Override
+        public void onActivityCreated(@NonNull Activity activity, Bundle savedInstanceState) { }
+
+        @Override
+        public void onActivityStarted(@NonNull Activity activity) { }
+
+        @Override
+        public void onActivityPaused(@NonNull Activity activity) { }
+
+        @Override
+        public void onActivityStopped(@NonNull Activity activity) { }
+
+        @Override
+        public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) { }
+
+        @Override
+        public void onActivityDestroyed(@NonNull Activity activity) { }
     }
 }
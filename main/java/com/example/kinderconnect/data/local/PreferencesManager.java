@@ -1,104 +1,269 @@
 package com.example.kinderconnect.data.local;
 
 import android.content.Context;
-import android.content.SharedPreferences;
+import android.os.Looper;
+import android.util.Log;
+import androidx.datastore.rxjava3.RxDataStore;
+import androidx.datastore.rxjava3.RxDataStoreBuilder;
+import com.example.kinderconnect.data.local.proto.UserPreferences;
+import com.example.kinderconnect.utils.AppExecutors;
 import com.example.kinderconnect.utils.Constants;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Preferencias de sesión guardadas en Proto DataStore (user_prefs.pb).
+ * Es un singleton de proceso: al crearse empieza a leer el archivo en segundo plano y
+ * guarda una copia en memoria. Los getters leen esa copia y los setters la actualizan al
+ * momento y escriben en disco de forma asíncrona, como hacía apply().
+ * PreferencesInitializer lo crea al arrancar para adelantar la lectura. Nada bloquea
+ * esperando el archivo: SplashActivity y los servicios esperan con whenLoaded(), y un
+ * getter llamado antes de tiempo devuelve los valores por defecto.
+ */
 public class PreferencesManager {
-    private final SharedPreferences preferences;
+    private static final String TAG = "PreferencesManager";
+    private static final String DATA_STORE_FILE = "user_prefs.pb";
 
-    private static final String PREF_USER_PHOTO = "user_photo";
+    private static volatile PreferencesManager instance;
 
-    // --- INICIO DE CÓDIGO AÑADIDO ---
-    // Claves para guardar el último alumno seleccionado
-    private static final String PREF_CURRENT_STUDENT_ID = "current_student_id";
-    private static final String PREF_CURRENT_STUDENT_NAME = "current_student_name";
-    private static final String PREF_CURRENT_GROUP_NAME = "current_group_name";
-    // --- FIN DE CÓDIGO AÑADIDO ---
+    private final RxDataStore<UserPreferences> dataStore;
+    private volatile boolean loaded;
+    // Acciones y cambios esperando la primera lectura; se protegen con el lock de onLoaded
+    private final List<Runnable> onLoaded = new ArrayList<>();
+    private final List<Edit> pendingEdits = new ArrayList<>();
+    // Única fuente para los getters; solo este proceso escribe el archivo
+    private volatile UserPreferences snapshot;
 
-    public PreferencesManager(Context context) {
-        this.preferences = context.getSharedPreferences(
-                Constants.PREF_NAME,
-                Context.MODE_PRIVATE
-        );
+    private interface Edit {
+        void apply(UserPreferences.Builder builder);
+    }
+
+    public static PreferencesManager getInstance(Context context) {
+        if (instance == null) {
+            synchronized (PreferencesManager.class) {
+                if (instance == null) {
+                    instance = new PreferencesManager(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private PreferencesManager(Context context) {
+        this.dataStore = new RxDataStoreBuilder<>(context, DATA_STORE_FILE,
+                UserPreferencesSerializer.INSTANCE)
+                .addRxDataMigration(new SharedPreferencesToProtoMigration(context))
+                .build();
+
+        dataStore.data()
+                .firstOrError()
+                .subscribeOn(Schedulers.io())
+                .subscribe(this::finishLoading, e -> {
+                    Log.e(TAG, "Error al leer las preferencias, se usan valores por defecto", e);
+                    finishLoading(UserPreferences.getDefaultInstance());
+                });
+    }
+
+    private void finishLoading(UserPreferences preferences) {
+        List<Runnable> callbacks;
+        synchronized (onLoaded) {
+            // Los cambios hechos antes de la lectura ya van a disco; aquí se aplican a la copia
+            UserPreferences.Builder builder = preferences.toBuilder();
+            for (Edit edit : pendingEdits) {
+                edit.apply(builder);
+            }
+            pendingEdits.clear();
+            snapshot = builder.build();
+            loaded = true;
+            callbacks = new ArrayList<>(onLoaded);
+            onLoaded.clear();
+        }
+        for (Runnable callback : callbacks) {
+            AppExecutors.getInstance().mainThread().execute(callback);
+        }
+    }
+
+    // true cuando ya terminó la primera lectura; no bloquea
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Ejecuta la acción en el hilo principal en cuanto las preferencias estén en memoria
+     * (de inmediato si ya lo están y se llama desde el hilo principal).
+     */
+    public void whenLoaded(Runnable action) {
+        synchronized (onLoaded) {
+            if (!loaded) {
+                onLoaded.add(action);
+                return;
+            }
+        }
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            action.run();
+        } else {
+            AppExecutors.getInstance().mainThread().execute(action);
+        }
+    }
+
+    // Nunca espera: antes de la primera lectura devuelve los valores por defecto
+    private UserPreferences current() {
+        UserPreferences preferences = snapshot;
+        if (preferences != null) return preferences;
+        Log.w(TAG, "Preferencias leídas antes de cargarse; usar whenLoaded()");
+        return UserPreferences.getDefaultInstance();
+    }
+
+    private void update(Edit edit) {
+        synchronized (onLoaded) {
+            if (snapshot == null) {
+                pendingEdits.add(edit);
+            } else {
+                UserPreferences.Builder builder = snapshot.toBuilder();
+                edit.apply(builder);
+                snapshot = builder.build();
+            }
+        }
+
+        // Se aplica el mismo cambio sobre lo que haya en disco, en el orden en que llegan
+        dataStore.updateDataAsync(preferences -> {
+            UserPreferences.Builder builder = preferences.toBuilder();
+            edit.apply(builder);
+            return Single.just(builder.build());
+        }).subscribe(preferences -> { }, e -> Log.e(TAG, "Error al guardar preferencias", e));
     }
 
     public void saveUserId(String userId) {
-        preferences.edit().putString(Constants.PREF_USER_ID, userId).apply();
+        update(b -> {
+            if (userId != null) b.setUserId(userId); else b.clearUserId();
+        });
     }
 
     public String getUserId() {
-        return preferences.getString(Constants.PREF_USER_ID, null);
+        UserPreferences p = current();
+        return p.hasUserId() ? p.getUserId() : null;
     }
 
     public void saveUserType(String userType) {
-        preferences.edit().putString(Constants.PREF_USER_TYPE, userType).apply();
+        update(b -> {
+            if (userType != null) b.setUserType(userType); else b.clearUserType();
+        });
     }
 
     public String getUserType() {
-        return preferences.getString(Constants.PREF_USER_TYPE, null);
+        UserPreferences p = current();
+        return p.hasUserType() ? p.getUserType() : null;
     }
 
     public void saveUserName(String userName) {
-        preferences.edit().putString(Constants.PREF_USER_NAME, userName).apply();
+        update(b -> {
+            if (userName != null) b.setUserName(userName); else b.clearUserName();
+        });
     }
 
     public String getUserName() {
-        return preferences.getString(Constants.PREF_USER_NAME, "");
+        return current().getUserName();
     }
 
     public void saveUserEmail(String email) {
-        preferences.edit().putString(Constants.PREF_USER_EMAIL, email).apply();
+        update(b -> {
+            if (email != null) b.setUserEmail(email); else b.clearUserEmail();
+        });
     }
 
     public String getUserEmail() {
-        return preferences.getString(Constants.PREF_USER_EMAIL, "");
+        return current().getUserEmail();
     }
 
     public void saveUserPhoto(String photoUrl) {
-        preferences.edit().putString(PREF_USER_PHOTO, photoUrl).apply();
+        update(b -> {
+            if (photoUrl != null) b.setUserPhoto(photoUrl); else b.clearUserPhoto();
+        });
     }
 
     public String getUserPhoto() {
-        return preferences.getString(PREF_USER_PHOTO, null);
+        UserPreferences p = current();
+        return p.hasUserPhoto() ? p.getUserPhoto() : null;
     }
 
-    // --- INICIO DE CÓDIGO AÑADIDO ---
     // Métodos para gestionar el alumno activo
     public void saveCurrentStudent(String id, String name, String groupName) {
-        preferences.edit()
-                .putString(PREF_CURRENT_STUDENT_ID, id)
-                .putString(PREF_CURRENT_STUDENT_NAME, name)
-                .putString(PREF_CURRENT_GROUP_NAME, groupName)
-                .apply();
+        update(b -> {
+            if (id != null) b.setCurrentStudentId(id); else b.clearCurrentStudentId();
+            if (name != null) b.setCurrentStudentName(name); else b.clearCurrentStudentName();
+            if (groupName != null) b.setCurrentGroupName(groupName); else b.clearCurrentGroupName();
+        });
     }
 
     public String getCurrentStudentId() {
-        return preferences.getString(PREF_CURRENT_STUDENT_ID, null);
+        UserPreferences p = current();
+        return p.hasCurrentStudentId() ? p.getCurrentStudentId() : null;
     }
 
     public String getCurrentStudentName() {
-        return preferences.getString(PREF_CURRENT_STUDENT_NAME, null);
+        UserPreferences p = current();
+        return p.hasCurrentStudentName() ? p.getCurrentStudentName() : null;
     }
 
     public String getCurrentGroupName() {
-        return preferences.getString(PREF_CURRENT_GROUP_NAME, null);
+        UserPreferences p = current();
+        return p.hasCurrentGroupName() ? p.getCurrentGroupName() : null;
+    }
+
+    public boolean isGradeMigrationDone(String teacherId) {
+        return current().getGradesMigratedOrDefault(teacherId, false);
+    }
+
+    public void setGradeMigrationDone(String teacherId) {
+        update(b -> b.putGradesMigrated(teacherId, true));
+    }
+
+    public boolean isAttendanceMigrationDone(String teacherId) {
+        return current().getAttendanceMigratedOrDefault(teacherId, false);
+    }
+
+    public void setAttendanceMigrationDone(String teacherId) {
+        update(b -> b.putAttendanceMigrated(teacherId, true));
+    }
+
+    public void saveFcmToken(String userId, String token) {
+        update(b -> {
+            if (token != null) b.setFcmToken(token); else b.clearFcmToken();
+            if (userId != null) b.setFcmTokenUserId(userId); else b.clearFcmTokenUserId();
+        });
+    }
+
+    // true si este token ya se subió al perfil de este usuario
+    public boolean isFcmTokenUploaded(String userId, String token) {
+        UserPreferences p = current();
+        return p.hasFcmToken() && p.getFcmToken().equals(token)
+                && p.hasFcmTokenUserId() && p.getFcmTokenUserId().equals(userId);
     }
-    // --- FIN DE CÓDIGO AÑADIDO ---
 
     public void setLoggedIn(boolean isLoggedIn) {
-        preferences.edit().putBoolean(Constants.PREF_IS_LOGGED_IN, isLoggedIn).apply();
+        update(b -> b.setLoggedIn(isLoggedIn));
     }
 
     public boolean isLoggedIn() {
-        return preferences.getBoolean(Constants.PREF_IS_LOGGED_IN, false);
+        return current().getLoggedIn();
     }
 
+    /**
+     * Cierra la sesión: borra el usuario y el alumno guardado. Las migraciones hechas y el
+     * token de FCM no son de la sesión y se conservan.
+     */
     public void clearAll() {
-        // --- INICIO DE CÓDIGO MODIFICADO ---
-        // Al cerrar sesión, también borramos al alumno guardado
-        preferences.edit().clear().apply();
-        // --- FIN DE CÓDIGO MODIFICADO ---
+        update(b -> b.clearLoggedIn()
+                .clearUserId()
+                .clearUserType()
+                .clearUserName()
+                .clearUserEmail()
+                .clearUserPhoto()
+                .clearCurrentStudentId()
+                .clearCurrentStudentName()
+                .clearCurrentGroupName());
     }
 
     public boolean isTeacher() {
@@ -108,4 +273,4 @@ public class PreferencesManager {
     public boolean isParent() {
         return Constants.USER_TYPE_PARENT.equals(getUserType());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,81 @@
+package com.example.kinderconnect.data.local;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import androidx.annotation.NonNull;
+import androidx.datastore.rxjava3.RxDataMigration;
+import com.example.kinderconnect.data.local.proto.UserPreferences;
+import com.example.kinderconnect.utils.Constants;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Single;
+import java.util.Map;
+
+/**
+ * Copia las claves del antiguo archivo de SharedPreferences a UserPreferences la primera
+ * vez que se abre el DataStore y después vacía el archivo viejo. DataStore la ejecuta
+ * en su propio hilo, así que estas lecturas no tocan el hilo principal.
+ */
+final class SharedPreferencesToProtoMigration implements RxDataMigration<UserPreferences> {
+    // Claves que antes solo vivían en PreferencesManager
+    static final String PREF_USER_PHOTO = "user_photo";
+    static final String PREF_CURRENT_STUDENT_ID = "current_student_id";
+    static final String PREF_CURRENT_STUDENT_NAME = "current_student_name";
+    static final String PREF_CURRENT_GROUP_NAME = "current_group_name";
+    static final String PREF_GRADES_MIGRATED = "grades_migrated_";
+    static final String PREF_FCM_TOKEN = "fcm_token";
+
+    private final Context context;
+
+    SharedPreferencesToProtoMigration(Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    private SharedPreferences legacy() {
+        return context.getSharedPreferences(Constants.PREF_NAME, Context.MODE_PRIVATE);
+    }
+
+    @NonNull
+    @Override
+    public Single<Boolean> shouldMigrate(@NonNull UserPreferences currentData) {
+        return Single.fromCallable(() -> !legacy().getAll().isEmpty());
+    }
+
+    @NonNull
+    @Override
+    public Single<UserPreferences> migrate(@NonNull UserPreferences currentData) {
+        return Single.fromCallable(() -> {
+            SharedPreferences legacy = legacy();
+            UserPreferences.Builder builder = currentData.toBuilder()
+                    .setLoggedIn(legacy.getBoolean(Constants.PREF_IS_LOGGED_IN, false));
+
+            String value;
+            if ((value = legacy.getString(Constants.PREF_USER_ID, null)) != null) builder.setUserId(value);
+            if ((value = legacy.getString(Constants.PREF_USER_TYPE, null)) != null) builder.setUserType(value);
+            if ((value = legacy.getString(Constants.PREF_USER_NAME, null)) != null) builder.setUserName(value);
+            if ((value = legacy.getString(Constants.PREF_USER_EMAIL, null)) != null) builder.setUserEmail(value);
+            if ((value = legacy.getString(PREF_USER_PHOTO, null)) != null) builder.setUserPhoto(value);
+            if ((value = legacy.getString(PREF_CURRENT_STUDENT_ID, null)) != null) builder.setCurrentStudentId(value);
+            if ((value = legacy.getString(PREF_CURRENT_STUDENT_NAME, null)) != null) builder.setCurrentStudentName(value);
+            if ((value = legacy.getString(PREF_CURRENT_GROUP_NAME, null)) != null) builder.setCurrentGroupName(value);
+            if ((value = legacy.getString(PREF_FCM_TOKEN, null)) != null) {
+                builder.setFcmToken(value);
+                if (builder.hasUserId()) builder.setFcmTokenUserId(builder.getUserId());
+            }
+
+            for (Map.Entry<String, ?> entry : legacy.getAll().entrySet()) {
+                if (entry.getKey().startsWith(PREF_GRADES_MIGRATED)
+                        && Boolean.TRUE.equals(entry.getValue())) {
+                    builder.putGradesMigrated(
+                            entry.getKey().substring(PREF_GRADES_MIGRATED.length()), true);
+                }
+            }
+            return builder.build();
+        });
+    }
+
+    @NonNull
+    @Override
+    public Completable cleanUp() {
+        return Completable.fromAction(() -> legacy().edit().clear().commit());
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.kinderconnect.data.local;
+
+import androidx.annotation.NonNull;
+import androidx.datastore.core.CorruptionException;
+import androidx.datastore.core.Serializer;
+import com.example.kinderconnect.data.local.proto.UserPreferences;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import kotlin.Unit;
+import kotlin.coroutines.Continuation;
+
+/**
+ * Serializer de DataStore para UserPreferences. Los métodos son suspend en Kotlin;
+ * desde Java se implementan devolviendo el resultado directamente.
+ */
+final class UserPreferencesSerializer implements Serializer<UserPreferences> {
+    static final UserPreferencesSerializer INSTANCE = new UserPreferencesSerializer();
+
+    private UserPreferencesSerializer() {
+    }
+
+    @Override
+    public UserPreferences getDefaultValue() {
+        return UserPreferences.getDefaultInstance();
+    }
+
+    @Override
+    public Object readFrom(@NonNull InputStream input,
+                           @NonNull Continuation<? super UserPreferences> continuation) {
+        try {
+            return UserPreferences.parseFrom(input);
+        } catch (IOException e) {
+            throw new CorruptionException("No se pudo leer user_prefs.pb", e);
+        }
+    }
+
+    @Override
+    public Object writeTo(UserPreferences preferences, @NonNull OutputStream output,
+                          @NonNull Continuation<? super Unit> continuation) {
+        try {
+            preferences.writeTo(output);
+        } catch (IOException e) {
+            throw new CorruptionException("No se pudo escribir user_prefs.pb", e);
+        }
+        return Unit.INSTANCE;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.kinderconnect.data.local.db;
+
+import android.content.Context;
+import androidx.room.Database;
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.room.TypeConverters;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import com.example.kinderconnect.data.local.entity.AttendanceEntity;
+import com.example.kinderconnect.data.local.entity.GradeEntity;
+import com.example.kinderconnect.data.local.entity.MediaUploadEntity;
+import com.example.kinderconnect.data.local.entity.NoticeEntity;
+import com.example.kinderconnect.data.local.entity.PendingMutation;
+import com.example.kinderconnect.data.local.entity.StudentEntity;
+
+/**
+ * Base de datos local: espejo de alumnos, asistencias, calificaciones y avisos,
+ * más el outbox de cambios pendientes que sube SyncWorker y el estado de las subidas
+ * resumibles de la galería.
+ */
+@Database(
+        entities = {
+                StudentEntity.class,
+                AttendanceEntity.class,
+                GradeEntity.class,
+                NoticeEntity.class,
+                PendingMutation.class,
+                MediaUploadEntity.class
+        },
+        version = 2,
+        exportSchema = false
+)
+@TypeConverters(Converters.class)
+public abstract class AppDatabase extends RoomDatabase {
+    private static final String DATABASE_NAME = "kinderconnect.db";
+
+    private static volatile AppDatabase instance;
+
+    // v2: tabla media_uploads para reanudar subidas a Storage
+    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `media_uploads` ("
+                    + "`storagePath` TEXT NOT NULL, "
+                    + "`localPath` TEXT, "
+                    + "`sessionUri` TEXT, "
+                    + "`bytesTransferred` INTEGER NOT NULL, "
+                    + "`totalBytes` INTEGER NOT NULL, "
+                    + "`updatedAt` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`storagePath`))");
+        }
+    };
+
+    public abstract StudentDao studentDao();
+    public abstract AttendanceDao attendanceDao();
+    public abstract GradeDao gradeDao();
+    public abstract NoticeDao noticeDao();
+    public abstract PendingMutationDao pendingMutationDao();
+    public abstract MediaUploadDao mediaUploadDao();
+
+    public static AppDatabase getInstance(Context context) {
+        if (instance == null) {
+            synchronized (AppDatabase.class) {
+                if (instance == null) {
+                    // Sin migración destructiva: el outbox guarda cambios que aún no están en Firestore
+                    instance = Room.databaseBuilder(context.getApplicationContext(),
+                                    AppDatabase.class, DATABASE_NAME)
+                            .addMigrations(MIGRATION_1_2)
+                            .build();
+                }
+            }
+        }
+        return instance;
+    }
+}
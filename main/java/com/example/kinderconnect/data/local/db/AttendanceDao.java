@@ -0,0 +1,69 @@
+package com.example.kinderconnect.data.local.db;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import com.example.kinderconnect.data.local.entity.AttendanceEntity;
+import java.util.Date;
+import java.util.List;
+
+@Dao
+public abstract class AttendanceDao {
+
+    @Query("SELECT * FROM attendance WHERE teacherId = :teacherId AND attendanceDate = :date")
+    public abstract LiveData<List<AttendanceEntity>> observeByDate(String teacherId, Date date);
+
+    @Query("SELECT * FROM attendance WHERE studentId = :studentId " +
+            "AND attendanceDate BETWEEN :startDate AND :endDate ORDER BY attendanceDate DESC")
+    public abstract LiveData<List<AttendanceEntity>> observeByStudent(String studentId,
+                                                                     Date startDate,
+                                                                     Date endDate);
+
+    // Registros del mismo alumno y día con otro ID (los creados antes de usar IDs deterministas)
+    @Query("SELECT attendanceId FROM attendance WHERE studentId = :studentId " +
+            "AND attendanceDate = :date AND attendanceId != :attendanceId")
+    public abstract List<String> findLegacyIds(String studentId, Date date, String attendanceId);
+
+    @Query("SELECT * FROM attendance WHERE attendanceId = :attendanceId")
+    public abstract AttendanceEntity getById(String attendanceId);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    public abstract void insert(AttendanceEntity attendance);
+
+    // IGNORE: si hay una fila local pendiente de subir, no la pisamos con la del servidor
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    public abstract void insertRemote(List<AttendanceEntity> attendance);
+
+    @Query("DELETE FROM attendance WHERE teacherId = :teacherId AND attendanceDate = :date " +
+            "AND pendingSync = 0")
+    abstract void deleteSyncedByDate(String teacherId, Date date);
+
+    @Query("DELETE FROM attendance WHERE studentId = :studentId " +
+            "AND attendanceDate BETWEEN :startDate AND :endDate AND pendingSync = 0")
+    abstract void deleteSyncedByStudent(String studentId, Date startDate, Date endDate);
+
+    @Transaction
+    public void replaceByDate(String teacherId, Date date, List<AttendanceEntity> remote) {
+        deleteSyncedByDate(teacherId, date);
+        insertRemote(remote);
+    }
+
+    @Transaction
+    public void replaceByStudent(String studentId, Date startDate, Date endDate,
+                                 List<AttendanceEntity> remote) {
+        deleteSyncedByStudent(studentId, startDate, endDate);
+        insertRemote(remote);
+    }
+
+    @Query("DELETE FROM attendance WHERE attendanceId = :attendanceId")
+    public abstract void deleteById(String attendanceId);
+
+    @Query("UPDATE attendance SET pendingSync = 0 WHERE attendanceId = :attendanceId")
+    public abstract void markSynced(String attendanceId);
+
+    @Query("DELETE FROM attendance WHERE attendanceDate < :date AND pendingSync = 0")
+    public abstract int deleteSyncedBefore(Date date);
+}
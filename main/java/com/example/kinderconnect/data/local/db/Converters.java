@@ -0,0 +1,91 @@
+package com.example.kinderconnect.data.local.db;
+
+import androidx.room.TypeConverter;
+import com.example.kinderconnect.data.model.Grade;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Conversores de Room para los tipos que no son primitivos.
+ * Las listas y mapas se guardan como JSON con org.json para no añadir dependencias.
+ */
+public class Converters {
+
+    @TypeConverter
+    public static Long fromDate(Date date) {
+        return date == null ? null : date.getTime();
+    }
+
+    @TypeConverter
+    public static Date toDate(Long millis) {
+        return millis == null ? null : new Date(millis);
+    }
+
+    @TypeConverter
+    public static String fromStringList(List<String> list) {
+        if (list == null) return null;
+        return new JSONArray(list).toString();
+    }
+
+    @TypeConverter
+    public static List<String> toStringList(String json) {
+        List<String> list = new ArrayList<>();
+        if (json == null) return list;
+        try {
+            JSONArray array = new JSONArray(json);
+            for (int i = 0; i < array.length(); i++) {
+                list.add(array.getString(i));
+            }
+        } catch (JSONException e) {
+            // JSON corrupto: devolvemos lo que se pudo leer
+        }
+        return list;
+    }
+
+    @TypeConverter
+    public static String fromEvaluations(Map<String, Grade.AreaEvaluation> evaluations) {
+        if (evaluations == null) return null;
+        JSONObject json = new JSONObject();
+        try {
+            for (Map.Entry<String, Grade.AreaEvaluation> entry : evaluations.entrySet()) {
+                Grade.AreaEvaluation evaluation = entry.getValue();
+                JSONObject item = new JSONObject();
+                item.put("areaName", evaluation.getAreaName());
+                item.put("level", evaluation.getLevel());
+                item.put("observations", evaluation.getObservations());
+                json.put(entry.getKey(), item);
+            }
+        } catch (JSONException e) {
+            return null;
+        }
+        return json.toString();
+    }
+
+    @TypeConverter
+    public static Map<String, Grade.AreaEvaluation> toEvaluations(String json) {
+        Map<String, Grade.AreaEvaluation> evaluations = new HashMap<>();
+        if (json == null) return evaluations;
+        try {
+            JSONObject object = new JSONObject(json);
+            Iterator<String> keys = object.keys();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                JSONObject item = object.getJSONObject(key);
+                evaluations.put(key, new Grade.AreaEvaluation(
+                        item.optString("areaName", null),
+                        item.optString("level", null),
+                        item.optString("observations", null)));
+            }
+        } catch (JSONException e) {
+            // JSON corrupto: devolvemos lo que se pudo leer
+        }
+        return evaluations;
+    }
+}
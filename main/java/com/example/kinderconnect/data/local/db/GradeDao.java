@@ -0,0 +1,42 @@
+package com.example.kinderconnect.data.local.db;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import com.example.kinderconnect.data.local.entity.GradeEntity;
+import java.util.List;
+
+@Dao
+public abstract class GradeDao {
+
+    @Query("SELECT * FROM grades WHERE studentId = :studentId ORDER BY period ASC")
+    public abstract LiveData<List<GradeEntity>> observeByStudent(String studentId);
+
+    @Query("SELECT * FROM grades WHERE studentId = :studentId AND period = :period LIMIT 1")
+    public abstract GradeEntity findByStudentAndPeriod(String studentId, int period);
+
+    @Query("SELECT * FROM grades WHERE gradeId = :gradeId")
+    public abstract GradeEntity getById(String gradeId);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    public abstract void insert(GradeEntity grade);
+
+    // IGNORE: si hay una fila local pendiente de subir, no la pisamos con la del servidor
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    public abstract void insertRemote(List<GradeEntity> grades);
+
+    @Query("DELETE FROM grades WHERE studentId = :studentId AND pendingSync = 0")
+    abstract void deleteSyncedByStudent(String studentId);
+
+    @Transaction
+    public void replaceByStudent(String studentId, List<GradeEntity> remote) {
+        deleteSyncedByStudent(studentId);
+        insertRemote(remote);
+    }
+
+    @Query("UPDATE grades SET pendingSync = 0 WHERE gradeId = :gradeId")
+    public abstract void markSynced(String gradeId);
+}
@@ -0,0 +1,30 @@
+package com.example.kinderconnect.data.local.db;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import com.example.kinderconnect.data.local.entity.MediaUploadEntity;
+
+@Dao
+public abstract class MediaUploadDao {
+
+    @Query("SELECT * FROM media_uploads WHERE storagePath = :storagePath")
+    public abstract MediaUploadEntity get(String storagePath);
+
+    // IGNORE: si ya existe la fila se conserva su sesión
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    public abstract void insertIfAbsent(MediaUploadEntity upload);
+
+    @Query("UPDATE media_uploads SET sessionUri = :sessionUri, bytesTransferred = :bytesTransferred, "
+            + "totalBytes = :totalBytes, updatedAt = :updatedAt WHERE storagePath = :storagePath")
+    public abstract void updateProgress(String storagePath, String sessionUri,
+                                        long bytesTransferred, long totalBytes, long updatedAt);
+
+    // La sesión caducó o ya no es válida: el siguiente intento empieza una nueva
+    @Query("UPDATE media_uploads SET sessionUri = NULL, bytesTransferred = 0 WHERE storagePath = :storagePath")
+    public abstract void clearSession(String storagePath);
+
+    @Query("DELETE FROM media_uploads WHERE storagePath = :storagePath")
+    public abstract void delete(String storagePath);
+}
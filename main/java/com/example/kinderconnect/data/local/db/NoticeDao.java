@@ -0,0 +1,57 @@
+package com.example.kinderconnect.data.local.db;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import com.example.kinderconnect.data.local.entity.NoticeEntity;
+import java.util.Date;
+import java.util.List;
+
+@Dao
+public abstract class NoticeDao {
+
+    @Query("SELECT * FROM notices WHERE groupName = :groupName ORDER BY publishedAt DESC")
+    public abstract LiveData<List<NoticeEntity>> observeByGroup(String groupName);
+
+    @Query("SELECT * FROM notices WHERE scope = :scope ORDER BY publishedAt DESC")
+    public abstract LiveData<List<NoticeEntity>> observeByScope(String scope);
+
+    @Query("SELECT * FROM notices ORDER BY publishedAt DESC")
+    public abstract LiveData<List<NoticeEntity>> observeAll();
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    public abstract void insertAll(List<NoticeEntity> notices);
+
+    @Query("DELETE FROM notices WHERE groupName = :groupName")
+    abstract void deleteByGroup(String groupName);
+
+    @Query("DELETE FROM notices WHERE scope = :scope")
+    abstract void deleteByScope(String scope);
+
+    @Query("DELETE FROM notices")
+    abstract void deleteAll();
+
+    @Transaction
+    public void replaceByGroup(String groupName, List<NoticeEntity> notices) {
+        deleteByGroup(groupName);
+        insertAll(notices);
+    }
+
+    @Transaction
+    public void replaceByScope(String scope, List<NoticeEntity> notices) {
+        deleteByScope(scope);
+        insertAll(notices);
+    }
+
+    @Transaction
+    public void replaceAll(List<NoticeEntity> notices) {
+        deleteAll();
+        insertAll(notices);
+    }
+
+    @Query("DELETE FROM notices WHERE publishedAt < :date")
+    public abstract int deleteBefore(Date date);
+}
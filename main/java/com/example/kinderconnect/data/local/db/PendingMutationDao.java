@@ -0,0 +1,38 @@
+package com.example.kinderconnect.data.local.db;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import com.example.kinderconnect.data.local.entity.PendingMutation;
+import java.util.List;
+
+@Dao
+public abstract class PendingMutationDao {
+
+    // REPLACE: varias ediciones del mismo documento quedan en una sola entrada
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    public abstract void enqueue(PendingMutation mutation);
+
+    // Los cambios que llegaron a maxAttempts quedan apartados (dead letter) y no se devuelven
+    @Query("SELECT * FROM pending_mutations WHERE attempts < :maxAttempts "
+            + "ORDER BY createdAt ASC LIMIT :limit")
+    public abstract List<PendingMutation> getOldest(int maxAttempts, int limit);
+
+    // Solo borra si nadie volvió a editar el documento mientras se subía
+    @Query("DELETE FROM pending_mutations WHERE idempotencyKey = :key AND createdAt = :createdAt")
+    public abstract int deleteIfUnchanged(String key, long createdAt);
+
+    @Query("UPDATE pending_mutations SET attempts = :attempts WHERE idempotencyKey = :key")
+    public abstract void setAttempts(String key, int attempts);
+
+    @Query("SELECT COUNT(*) FROM pending_mutations WHERE attempts >= :maxAttempts")
+    public abstract int countDeadLetters(int maxAttempts);
+
+    // Devuelve los cambios apartados al outbox para que el próximo SyncWorker los reintente
+    @Query("UPDATE pending_mutations SET attempts = 0 WHERE attempts >= :maxAttempts")
+    public abstract int resetDeadLetters(int maxAttempts);
+
+    @Query("SELECT COUNT(*) FROM pending_mutations")
+    public abstract int count();
+}
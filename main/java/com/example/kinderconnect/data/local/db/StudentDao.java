@@ -0,0 +1,42 @@
+package com.example.kinderconnect.data.local.db;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import com.example.kinderconnect.data.local.entity.StudentEntity;
+import java.util.List;
+
+@Dao
+public abstract class StudentDao {
+
+    @Query("SELECT * FROM students WHERE teacherId = :teacherId ORDER BY fullName")
+    public abstract LiveData<List<StudentEntity>> observeByTeacher(String teacherId);
+
+    @Query("SELECT * FROM students WHERE parentId = :parentId ORDER BY fullName")
+    public abstract LiveData<List<StudentEntity>> observeByParent(String parentId);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    public abstract void insertAll(List<StudentEntity> students);
+
+    @Query("DELETE FROM students WHERE teacherId = :teacherId")
+    abstract void deleteByTeacher(String teacherId);
+
+    @Query("DELETE FROM students WHERE parentId = :parentId")
+    abstract void deleteByParent(String parentId);
+
+    // Reemplaza el espejo local con lo que devolvió el servidor para esa maestra
+    @Transaction
+    public void replaceByTeacher(String teacherId, List<StudentEntity> students) {
+        deleteByTeacher(teacherId);
+        insertAll(students);
+    }
+
+    @Transaction
+    public void replaceByParent(String parentId, List<StudentEntity> students) {
+        deleteByParent(parentId);
+        insertAll(students);
+    }
+}
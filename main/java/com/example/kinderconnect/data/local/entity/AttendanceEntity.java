@@ -0,0 +1,81 @@
+package com.example.kinderconnect.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+import com.example.kinderconnect.data.model.Attendance;
+import java.util.Date;
+
+@Entity(tableName = "attendance",
+        indices = {@Index({"teacherId", "attendanceDate"}), @Index({"studentId", "attendanceDate"})})
+public class AttendanceEntity {
+    @PrimaryKey
+    @NonNull
+    private String attendanceId = "";
+    private String studentId;
+    private String teacherId;
+    private Date attendanceDate;
+    private String status;
+    private String notes;
+    private Date recordedAt;
+    private boolean parentNotified;
+    // true mientras el cambio local no se haya subido a Firestore
+    private boolean pendingSync;
+
+    public static AttendanceEntity fromModel(Attendance attendance, boolean pendingSync) {
+        AttendanceEntity entity = new AttendanceEntity();
+        entity.attendanceId = attendance.getAttendanceId();
+        entity.studentId = attendance.getStudentId();
+        entity.teacherId = attendance.getTeacherId();
+        entity.attendanceDate = attendance.getAttendanceDate();
+        entity.status = attendance.getStatus();
+        entity.notes = attendance.getNotes();
+        entity.recordedAt = attendance.getRecordedAt();
+        entity.parentNotified = attendance.isParentNotified();
+        entity.pendingSync = pendingSync;
+        return entity;
+    }
+
+    public Attendance toModel() {
+        Attendance attendance = new Attendance();
+        attendance.setAttendanceId(attendanceId);
+        attendance.setStudentId(studentId);
+        attendance.setTeacherId(teacherId);
+        attendance.setAttendanceDate(attendanceDate);
+        attendance.setStatus(status);
+        attendance.setNotes(notes);
+        attendance.setRecordedAt(recordedAt);
+        attendance.setParentNotified(parentNotified);
+        return attendance;
+    }
+
+    // Getters y Setters (requeridos por Room)
+    @NonNull
+    public String getAttendanceId() { return attendanceId; }
+    public void setAttendanceId(@NonNull String attendanceId) { this.attendanceId = attendanceId; }
+
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+
+    public String getTeacherId() { return teacherId; }
+    public void setTeacherId(String teacherId) { this.teacherId = teacherId; }
+
+    public Date getAttendanceDate() { return attendanceDate; }
+    public void setAttendanceDate(Date attendanceDate) { this.attendanceDate = attendanceDate; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+
+    public Date getRecordedAt() { return recordedAt; }
+    public void setRecordedAt(Date recordedAt) { this.recordedAt = recordedAt; }
+
+    public boolean isParentNotified() { return parentNotified; }
+    public void setParentNotified(boolean parentNotified) { this.parentNotified = parentNotified; }
+
+    public boolean isPendingSync() { return pendingSync; }
+    public void setPendingSync(boolean pendingSync) { this.pendingSync = pendingSync; }
+}
@@ -0,0 +1,75 @@
+package com.example.kinderconnect.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+import com.example.kinderconnect.data.model.Grade;
+import java.util.Date;
+import java.util.Map;
+
+@Entity(tableName = "grades",
+        indices = {@Index({"studentId", "period"})})
+public class GradeEntity {
+    @PrimaryKey
+    @NonNull
+    private String gradeId = "";
+    private String studentId;
+    private String teacherId;
+    private int period;
+    private Map<String, Grade.AreaEvaluation> evaluations;
+    private Date createdAt;
+    private Date updatedAt;
+    // true mientras el cambio local no se haya subido a Firestore
+    private boolean pendingSync;
+
+    public static GradeEntity fromModel(Grade grade, boolean pendingSync) {
+        GradeEntity entity = new GradeEntity();
+        entity.gradeId = grade.getGradeId();
+        entity.studentId = grade.getStudentId();
+        entity.teacherId = grade.getTeacherId();
+        entity.period = grade.getPeriod();
+        entity.evaluations = grade.getEvaluations();
+        entity.createdAt = grade.getCreatedAt();
+        entity.updatedAt = grade.getUpdatedAt();
+        entity.pendingSync = pendingSync;
+        return entity;
+    }
+
+    public Grade toModel() {
+        Grade grade = new Grade(studentId, teacherId, period);
+        grade.setGradeId(gradeId);
+        if (evaluations != null) {
+            grade.setEvaluations(evaluations);
+        }
+        grade.setCreatedAt(createdAt);
+        grade.setUpdatedAt(updatedAt);
+        return grade;
+    }
+
+    // Getters y Setters (requeridos por Room)
+    @NonNull
+    public String getGradeId() { return gradeId; }
+    public void setGradeId(@NonNull String gradeId) { this.gradeId = gradeId; }
+
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+
+    public String getTeacherId() { return teacherId; }
+    public void setTeacherId(String teacherId) { this.teacherId = teacherId; }
+
+    public int getPeriod() { return period; }
+    public void setPeriod(int period) { this.period = period; }
+
+    public Map<String, Grade.AreaEvaluation> getEvaluations() { return evaluations; }
+    public void setEvaluations(Map<String, Grade.AreaEvaluation> evaluations) { this.evaluations = evaluations; }
+
+    public Date getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Date createdAt) { this.createdAt = createdAt; }
+
+    public Date getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Date updatedAt) { this.updatedAt = updatedAt; }
+
+    public boolean isPendingSync() { return pendingSync; }
+    public void setPendingSync(boolean pendingSync) { this.pendingSync = pendingSync; }
+}
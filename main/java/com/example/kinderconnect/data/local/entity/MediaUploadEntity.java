@@ -0,0 +1,51 @@
+package com.example.kinderconnect.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Estado de una subida resumible a Firebase Storage.
+ * sessionUri es la sesión de subida que devuelve Storage: con ella un reintento (o el
+ * proceso tras reiniciarse) continúa desde el último byte confirmado en lugar de empezar
+ * de cero. La fila se borra al terminar la subida.
+ */
+@Entity(tableName = "media_uploads")
+public class MediaUploadEntity {
+    @PrimaryKey
+    @NonNull
+    private String storagePath = "";
+    private String localPath;
+    private String sessionUri;
+    private long bytesTransferred;
+    private long totalBytes;
+    private long updatedAt;
+
+    public static MediaUploadEntity create(@NonNull String storagePath, String localPath) {
+        MediaUploadEntity entity = new MediaUploadEntity();
+        entity.storagePath = storagePath;
+        entity.localPath = localPath;
+        entity.updatedAt = System.currentTimeMillis();
+        return entity;
+    }
+
+    // Getters y Setters (requeridos por Room)
+    @NonNull
+    public String getStoragePath() { return storagePath; }
+    public void setStoragePath(@NonNull String storagePath) { this.storagePath = storagePath; }
+
+    public String getLocalPath() { return localPath; }
+    public void setLocalPath(String localPath) { this.localPath = localPath; }
+
+    public String getSessionUri() { return sessionUri; }
+    public void setSessionUri(String sessionUri) { this.sessionUri = sessionUri; }
+
+    public long getBytesTransferred() { return bytesTransferred; }
+    public void setBytesTransferred(long bytesTransferred) { this.bytesTransferred = bytesTransferred; }
+
+    public long getTotalBytes() { return totalBytes; }
+    public void setTotalBytes(long totalBytes) { this.totalBytes = totalBytes; }
+
+    public long getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(long updatedAt) { this.updatedAt = updatedAt; }
+}
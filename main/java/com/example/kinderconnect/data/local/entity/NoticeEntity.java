@@ -0,0 +1,108 @@
+package com.example.kinderconnect.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+import com.example.kinderconnect.data.model.Notice;
+import java.util.Date;
+import java.util.List;
+
+@Entity(tableName = "notices",
+        indices = {@Index("groupName"), @Index("scope"), @Index("publishedAt")})
+public class NoticeEntity {
+    @PrimaryKey
+    @NonNull
+    private String noticeId = "";
+    private String teacherId;
+    private String teacherName;
+    private String title;
+    private String description;
+    private String category;
+    private String scope;
+    private String groupName;
+    private Date validUntil;
+    private String imageUrl;
+    private String documentUrl;
+    private Date publishedAt;
+    private List<String> readBy;
+
+    public static NoticeEntity fromModel(Notice notice) {
+        NoticeEntity entity = new NoticeEntity();
+        entity.noticeId = notice.getNoticeId();
+        entity.teacherId = notice.getTeacherId();
+        entity.teacherName = notice.getTeacherName();
+        entity.title = notice.getTitle();
+        entity.description = notice.getDescription();
+        entity.category = notice.getCategory();
+        entity.scope = notice.getScope();
+        entity.groupName = notice.getGroupName();
+        entity.validUntil = notice.getValidUntil();
+        entity.imageUrl = notice.getImageUrl();
+        entity.documentUrl = notice.getDocumentUrl();
+        entity.publishedAt = notice.getPublishedAt();
+        entity.readBy = notice.getReadBy();
+        return entity;
+    }
+
+    public Notice toModel() {
+        Notice notice = new Notice();
+        notice.setNoticeId(noticeId);
+        notice.setTeacherId(teacherId);
+        notice.setTeacherName(teacherName);
+        notice.setTitle(title);
+        notice.setDescription(description);
+        notice.setCategory(category);
+        notice.setScope(scope);
+        notice.setGroupName(groupName);
+        notice.setValidUntil(validUntil);
+        notice.setImageUrl(imageUrl);
+        notice.setDocumentUrl(documentUrl);
+        notice.setPublishedAt(publishedAt);
+        if (readBy != null) {
+            notice.setReadBy(readBy);
+        }
+        return notice;
+    }
+
+    // Getters y Setters (requeridos por Room)
+    @NonNull
+    public String getNoticeId() { return noticeId; }
+    public void setNoticeId(@NonNull String noticeId) { this.noticeId = noticeId; }
+
+    public String getTeacherId() { return teacherId; }
+    public void setTeacherId(String teacherId) { this.teacherId = teacherId; }
+
+    public String getTeacherName() { return teacherName; }
+    public void setTeacherName(String teacherName) { this.teacherName = teacherName; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getScope() { return scope; }
+    public void setScope(String scope) { this.scope = scope; }
+
+    public String getGroupName() { return groupName; }
+    public void setGroupName(String groupName) { this.groupName = groupName; }
+
+    public Date getValidUntil() { return validUntil; }
+    public void setValidUntil(Date validUntil) { this.validUntil = validUntil; }
+
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+
+    public String getDocumentUrl() { return documentUrl; }
+    public void setDocumentUrl(String documentUrl) { this.documentUrl = documentUrl; }
+
+    public Date getPublishedAt() { return publishedAt; }
+    public void setPublishedAt(Date publishedAt) { this.publishedAt = publishedAt; }
+
+    public List<String> getReadBy() { return readBy; }
+    public void setReadBy(List<String> readBy) { this.readBy = readBy; }
+}
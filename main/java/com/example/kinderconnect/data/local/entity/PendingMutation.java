@@ -0,0 +1,65 @@
+package com.example.kinderconnect.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Cambio local pendiente de subir a Firestore (outbox).
+ * La llave de idempotencia es "coleccion/documentId": si el mismo documento se edita
+ * varias veces sin conexión solo queda una entrada, y como SyncWorker escribe con set()
+ * sobre un ID fijo, repetir la subida no duplica datos.
+ * El contenido a escribir se lee de la tabla espejo al momento de sincronizar.
+ */
+@Entity(tableName = "pending_mutations")
+public class PendingMutation {
+    public static final String OP_SET = "SET";
+    public static final String OP_DELETE = "DELETE";
+
+    @PrimaryKey
+    @NonNull
+    private String idempotencyKey = "";
+    private String collection;
+    private String documentId;
+    private String operation;
+    private long createdAt;
+    private int attempts;
+
+    public static PendingMutation set(String collection, String documentId) {
+        return create(collection, documentId, OP_SET);
+    }
+
+    public static PendingMutation delete(String collection, String documentId) {
+        return create(collection, documentId, OP_DELETE);
+    }
+
+    private static PendingMutation create(String collection, String documentId, String operation) {
+        PendingMutation mutation = new PendingMutation();
+        mutation.idempotencyKey = collection + "/" + documentId;
+        mutation.collection = collection;
+        mutation.documentId = documentId;
+        mutation.operation = operation;
+        mutation.createdAt = System.currentTimeMillis();
+        return mutation;
+    }
+
+    // Getters y Setters (requeridos por Room)
+    @NonNull
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(@NonNull String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+
+    public String getCollection() { return collection; }
+    public void setCollection(String collection) { this.collection = collection; }
+
+    public String getDocumentId() { return documentId; }
+    public void setDocumentId(String documentId) { this.documentId = documentId; }
+
+    public String getOperation() { return operation; }
+    public void setOperation(String operation) { this.operation = operation; }
+
+    public long getCreatedAt() { return createdAt; }
+    public void setCreatedAt(long createdAt) { this.createdAt = createdAt; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+}
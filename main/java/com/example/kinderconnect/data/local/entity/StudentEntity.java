@@ -0,0 +1,99 @@
+package com.example.kinderconnect.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+import com.example.kinderconnect.data.model.Student;
+import java.util.Date;
+
+@Entity(tableName = "students",
+        indices = {@Index("teacherId"), @Index("parentId")})
+public class StudentEntity {
+    @PrimaryKey
+    @NonNull
+    private String studentId = "";
+    private String fullName;
+    private Date birthDate;
+    private String parentId;
+    private String teacherId;
+    private String groupName;
+    private String photoUrl;
+    private String emergencyContact;
+    private String allergies;
+    private String medicalNotes;
+    private Date createdAt;
+    private boolean active;
+
+    public static StudentEntity fromModel(Student student) {
+        StudentEntity entity = new StudentEntity();
+        entity.studentId = student.getStudentId();
+        entity.fullName = student.getFullName();
+        entity.birthDate = student.getBirthDate();
+        entity.parentId = student.getParentId();
+        entity.teacherId = student.getTeacherId();
+        entity.groupName = student.getGroupName();
+        entity.photoUrl = student.getPhotoUrl();
+        entity.emergencyContact = student.getEmergencyContact();
+        entity.allergies = student.getAllergies();
+        entity.medicalNotes = student.getMedicalNotes();
+        entity.createdAt = student.getCreatedAt();
+        entity.active = student.isActive();
+        return entity;
+    }
+
+    public Student toModel() {
+        Student student = new Student();
+        student.setStudentId(studentId);
+        student.setFullName(fullName);
+        student.setBirthDate(birthDate);
+        student.setParentId(parentId);
+        student.setTeacherId(teacherId);
+        student.setGroupName(groupName);
+        student.setPhotoUrl(photoUrl);
+        student.setEmergencyContact(emergencyContact);
+        student.setAllergies(allergies);
+        student.setMedicalNotes(medicalNotes);
+        student.setCreatedAt(createdAt);
+        student.setActive(active);
+        return student;
+    }
+
+    // Getters y Setters (requeridos por Room)
+    @NonNull
+    public String getStudentId() { return studentId; }
+    public void setStudentId(@NonNull String studentId) { this.studentId = studentId; }
+
+    public String getFullName() { return fullName; }
+    public void setFullName(String fullName) { this.fullName = fullName; }
+
+    public Date getBirthDate() { return birthDate; }
+    public void setBirthDate(Date birthDate) { this.birthDate = birthDate; }
+
+    public String getParentId() { return parentId; }
+    public void setParentId(String parentId) { this.parentId = parentId; }
+
+    public String getTeacherId() { return teacherId; }
+    public void setTeacherId(String teacherId) { this.teacherId = teacherId; }
+
+    public String getGroupName() { return groupName; }
+    public void setGroupName(String groupName) { this.groupName = groupName; }
+
+    public String getPhotoUrl() { return photoUrl; }
+    public void setPhotoUrl(String photoUrl) { this.photoUrl = photoUrl; }
+
+    public String getEmergencyContact() { return emergencyContact; }
+    public void setEmergencyContact(String emergencyContact) { this.emergencyContact = emergencyContact; }
+
+    public String getAllergies() { return allergies; }
+    public void setAllergies(String allergies) { this.allergies = allergies; }
+
+    public String getMedicalNotes() { return medicalNotes; }
+    public void setMedicalNotes(String medicalNotes) { this.medicalNotes = medicalNotes; }
+
+    public Date getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Date createdAt) { this.createdAt = createdAt; }
+
+    public boolean isActive() { return active; }
+    public void setActive(boolean active) { this.active = active; }
+}
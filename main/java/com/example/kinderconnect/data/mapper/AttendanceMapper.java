@@ -0,0 +1,27 @@
+package com.example.kinderconnect.data.mapper;
+
+import com.example.kinderconnect.data.model.Attendance;
+
+import java.util.Map;
+
+public final class AttendanceMapper implements DocumentMapper<Attendance> {
+    public static final AttendanceMapper INSTANCE = new AttendanceMapper();
+
+    private AttendanceMapper() {
+    }
+
+    @Override
+    public Attendance map(String id, Map<String, Object> data) {
+        Attendance attendance = new Attendance();
+        attendance.setAttendanceId(id);
+        attendance.setStudentId(Fields.getString(data, "studentId"));
+        attendance.setTeacherId(Fields.getString(data, "teacherId"));
+        attendance.setAttendanceDate(Fields.getDate(data, "attendanceDate"));
+        attendance.setStatus(Fields.getString(data, "status"));
+        attendance.setNotes(Fields.getString(data, "notes"));
+        attendance.setRecordedAt(Fields.getDate(data, "recordedAt"));
+        attendance.setParentNotified(Fields.getBoolean(data, "parentNotified",
+                attendance.isParentNotified()));
+        return attendance;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.kinderconnect.data.mapper;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Convierte documentos de Firestore a modelos leyendo los campos directamente del mapa
+ * de getData(), sin la reflexión de toObject(). El ID del documento se asigna aquí
+ * (lo que @DocumentId hacía con toObject), así que los repositorios no lo parchean a mano.
+ */
+public interface DocumentMapper<T> {
+
+    T map(String id, Map<String, Object> data);
+
+    // Devuelve null si el documento no existe, igual que toObject()
+    default T map(DocumentSnapshot snapshot) {
+        Map<String, Object> data = snapshot.getData();
+        return data != null ? map(snapshot.getId(), data) : null;
+    }
+
+    default List<T> mapAll(QuerySnapshot snapshot) {
+        List<DocumentSnapshot> documents = snapshot.getDocuments();
+        List<T> result = new ArrayList<>(documents.size());
+        for (DocumentSnapshot document : documents) {
+            result.add(map(document));
+        }
+        return result;
+    }
+}
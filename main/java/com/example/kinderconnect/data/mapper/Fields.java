@@ -0,0 +1,65 @@
+package com.example.kinderconnect.data.mapper;
+
+import com.google.firebase.Timestamp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lectura tipada de los valores que devuelve getData(). Firestore entrega los enteros
+ * como Long, los decimales como Double y las fechas como Timestamp.
+ */
+final class Fields {
+
+    private Fields() {
+    }
+
+    static String getString(Map<String, Object> data, String field) {
+        Object value = data.get(field);
+        return value instanceof String ? (String) value : null;
+    }
+
+    static Date getDate(Map<String, Object> data, String field) {
+        Object value = data.get(field);
+        if (value instanceof Timestamp) return ((Timestamp) value).toDate();
+        if (value instanceof Date) return (Date) value;
+        return null;
+    }
+
+    static int getInt(Map<String, Object> data, String field, int defaultValue) {
+        Object value = data.get(field);
+        return value instanceof Number ? ((Number) value).intValue() : defaultValue;
+    }
+
+    static double getDouble(Map<String, Object> data, String field, double defaultValue) {
+        Object value = data.get(field);
+        return value instanceof Number ? ((Number) value).doubleValue() : defaultValue;
+    }
+
+    static boolean getBoolean(Map<String, Object> data, String field, boolean defaultValue) {
+        Object value = data.get(field);
+        return value instanceof Boolean ? (Boolean) value : defaultValue;
+    }
+
+    // Devuelve null si el campo no está, para conservar el valor por defecto del modelo
+    static List<String> getStringList(Map<String, Object> data, String field) {
+        Object value = data.get(field);
+        if (!(value instanceof List)) return null;
+        List<?> raw = (List<?>) value;
+        if (raw.isEmpty()) return new ArrayList<>();
+        List<String> result = new ArrayList<>(raw.size());
+        for (Object item : raw) {
+            if (item instanceof String) result.add((String) item);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> getMap(Map<String, Object> data, String field) {
+        Object value = data.get(field);
+        return value instanceof Map ? (Map<String, Object>) value : Collections.emptyMap();
+    }
+}
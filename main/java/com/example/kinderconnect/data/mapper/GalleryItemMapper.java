@@ -0,0 +1,32 @@
+package com.example.kinderconnect.data.mapper;
+
+import com.example.kinderconnect.data.model.GalleryItem;
+
+import java.util.List;
+import java.util.Map;
+
+public final class GalleryItemMapper implements DocumentMapper<GalleryItem> {
+    public static final GalleryItemMapper INSTANCE = new GalleryItemMapper();
+
+    private GalleryItemMapper() {
+    }
+
+    @Override
+    public GalleryItem map(String id, Map<String, Object> data) {
+        GalleryItem item = new GalleryItem();
+        item.setItemId(id);
+        item.setTeacherId(Fields.getString(data, "teacherId"));
+        item.setMediaUrl(Fields.getString(data, "mediaUrl"));
+        item.setThumbnailUrl(Fields.getString(data, "thumbnailUrl"));
+        item.setMediaType(Fields.getString(data, "mediaType"));
+        item.setDescription(Fields.getString(data, "description"));
+        List<String> taggedStudents = Fields.getStringList(data, "taggedStudents");
+        if (taggedStudents != null) item.setTaggedStudents(taggedStudents);
+        item.setGroupName(Fields.getString(data, "groupName"));
+        item.setLocation(Fields.getString(data, "location"));
+        item.setLatitude(Fields.getDouble(data, "latitude", item.getLatitude()));
+        item.setLongitude(Fields.getDouble(data, "longitude", item.getLongitude()));
+        item.setUploadedAt(Fields.getDate(data, "uploadedAt"));
+        return item;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.kinderconnect.data.mapper;
+
+import com.example.kinderconnect.data.model.Grade;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public final class GradeMapper implements DocumentMapper<Grade> {
+    public static final GradeMapper INSTANCE = new GradeMapper();
+
+    private GradeMapper() {
+    }
+
+    @Override
+    public Grade map(String id, Map<String, Object> data) {
+        Grade grade = new Grade();
+        grade.setGradeId(id);
+        grade.setStudentId(Fields.getString(data, "studentId"));
+        grade.setTeacherId(Fields.getString(data, "teacherId"));
+        grade.setPeriod(Fields.getInt(data, "period", grade.getPeriod()));
+        grade.setCreatedAt(Fields.getDate(data, "createdAt"));
+        grade.setUpdatedAt(Fields.getDate(data, "updatedAt"));
+
+        // evaluations: mapa de área -> {areaName, level, observations}
+        Map<String, Object> rawEvaluations = Fields.getMap(data, "evaluations");
+        Map<String, Grade.AreaEvaluation> evaluations = new HashMap<>(rawEvaluations.size() * 2);
+        for (Map.Entry<String, Object> entry : rawEvaluations.entrySet()) {
+            if (!(entry.getValue() instanceof Map)) continue;
+            @SuppressWarnings("unchecked")
+            Map<String, Object> area = (Map<String, Object>) entry.getValue();
+            evaluations.put(entry.getKey(), new Grade.AreaEvaluation(
+                    Fields.getString(area, "areaName"),
+                    Fields.getString(area, "level"),
+                    Fields.getString(area, "observations")));
+        }
+        grade.setEvaluations(evaluations);
+        return grade;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.kinderconnect.data.mapper;
+
+import com.example.kinderconnect.data.model.Notice;
+
+import java.util.List;
+import java.util.Map;
+
+// readBy es @Exclude para escribir, pero se lee: los avisos viejos guardan ahí quién los leyó
+public final class NoticeMapper implements DocumentMapper<Notice> {
+    public static final NoticeMapper INSTANCE = new NoticeMapper();
+
+    private NoticeMapper() {
+    }
+
+    @Override
+    public Notice map(String id, Map<String, Object> data) {
+        Notice notice = new Notice();
+        notice.setNoticeId(id);
+        notice.setTeacherId(Fields.getString(data, "teacherId"));
+        notice.setTeacherName(Fields.getString(data, "teacherName"));
+        notice.setTitle(Fields.getString(data, "title"));
+        notice.setDescription(Fields.getString(data, "description"));
+        notice.setCategory(Fields.getString(data, "category"));
+        notice.setScope(Fields.getString(data, "scope"));
+        notice.setGroupName(Fields.getString(data, "groupName"));
+        notice.setValidUntil(Fields.getDate(data, "validUntil"));
+        notice.setImageUrl(Fields.getString(data, "imageUrl"));
+        notice.setDocumentUrl(Fields.getString(data, "documentUrl"));
+        notice.setPublishedAt(Fields.getDate(data, "publishedAt"));
+        List<String> readBy = Fields.getStringList(data, "readBy");
+        if (readBy != null) notice.setReadBy(readBy);
+        return notice;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.kinderconnect.data.mapper;
+
+import com.example.kinderconnect.data.model.Student;
+
+import java.util.Map;
+
+public final class StudentMapper implements DocumentMapper<Student> {
+    public static final StudentMapper INSTANCE = new StudentMapper();
+
+    private StudentMapper() {
+    }
+
+    @Override
+    public Student map(String id, Map<String, Object> data) {
+        Student student = new Student();
+        student.setStudentId(id);
+        student.setFullName(Fields.getString(data, "fullName"));
+        student.setBirthDate(Fields.getDate(data, "birthDate"));
+        student.setParentId(Fields.getString(data, "parentId"));
+        student.setTeacherId(Fields.getString(data, "teacherId"));
+        student.setGroupName(Fields.getString(data, "groupName"));
+        student.setPhotoUrl(Fields.getString(data, "photoUrl"));
+        student.setEmergencyContact(Fields.getString(data, "emergencyContact"));
+        student.setAllergies(Fields.getString(data, "allergies"));
+        student.setMedicalNotes(Fields.getString(data, "medicalNotes"));
+        student.setCreatedAt(Fields.getDate(data, "createdAt"));
+        // isActive() se guarda como "active", igual que con toObject()
+        student.setActive(Fields.getBoolean(data, "active", student.isActive()));
+        return student;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.kinderconnect.data.mapper;
+
+import com.example.kinderconnect.data.model.User;
+
+import java.util.Map;
+
+public final class UserMapper implements DocumentMapper<User> {
+    public static final UserMapper INSTANCE = new UserMapper();
+
+    private UserMapper() {
+    }
+
+    @Override
+    public User map(String id, Map<String, Object> data) {
+        User user = new User();
+        user.setUid(id);
+        user.setEmail(Fields.getString(data, "email"));
+        user.setFullName(Fields.getString(data, "fullName"));
+        user.setUserType(Fields.getString(data, "userType"));
+        user.setPhone(Fields.getString(data, "phone"));
+        user.setPhotoUrl(Fields.getString(data, "photoUrl"));
+        user.setSchoolId(Fields.getString(data, "schoolId"));
+        user.setCreatedAt(Fields.getDate(data, "createdAt"));
+        // isActive() se guarda como "active", igual que con toObject()
+        user.setActive(Fields.getBoolean(data, "active", user.isActive()));
+        user.setFcmToken(Fields.getString(data, "fcmToken"));
+        return user;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.kinderconnect.data.model;
+
+import com.example.kinderconnect.utils.Constants;
+import com.google.firebase.firestore.Exclude;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resumen mensual de asistencia de un alumno: attendanceSummaries/{studentId}_{yyyyMM}.
+ * Guarda el estado de cada día ("01".."31" -> "PRESENT"/"LATE"/"ABSENT"); los contadores
+ * se calculan de ese mapa, así reescribir un día (o reintentar un batch) nunca cuenta doble.
+ */
+public class AttendanceSummary {
+    private String studentId;
+    private String yearMonth; // "yyyyMM"
+    private Map<String, String> days;
+    private Date updatedAt;
+    private Date backfilledAt; // Se llenó desde las asistencias que ya existían
+
+    public AttendanceSummary() {
+        this.days = new HashMap<>();
+    }
+
+    public AttendanceSummary(String studentId, String yearMonth) {
+        this.studentId = studentId;
+        this.yearMonth = yearMonth;
+        this.days = new HashMap<>();
+    }
+
+    // Getters y Setters
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+
+    public String getYearMonth() { return yearMonth; }
+    public void setYearMonth(String yearMonth) { this.yearMonth = yearMonth; }
+
+    public Map<String, String> getDays() { return days; }
+    public void setDays(Map<String, String> days) { this.days = days; }
+
+    public Date getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Date updatedAt) { this.updatedAt = updatedAt; }
+
+    public Date getBackfilledAt() { return backfilledAt; }
+    public void setBackfilledAt(Date backfilledAt) { this.backfilledAt = backfilledAt; }
+
+    // Contadores derivados (no se guardan en Firestore)
+    @Exclude
+    public int getPresent() { return count(Constants.ATTENDANCE_PRESENT); }
+
+    @Exclude
+    public int getLate() { return count(Constants.ATTENDANCE_LATE); }
+
+    @Exclude
+    public int getAbsent() { return count(Constants.ATTENDANCE_ABSENT); }
+
+    @Exclude
+    public int getTotal() { return days != null ? days.size() : 0; }
+
+    @Exclude
+    public int getPresentPercentage() {
+        int total = getTotal();
+        return total > 0 ? (getPresent() * 100) / total : 0;
+    }
+
+    private int count(String status) {
+        if (days == null) return 0;
+        int count = 0;
+        for (String value : days.values()) {
+            if (status.equals(value)) count++;
+        }
+        return count;
+    }
+}
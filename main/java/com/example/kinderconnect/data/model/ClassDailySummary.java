@@ -0,0 +1,68 @@
+package com.example.kinderconnect.data.model;
+
+import com.example.kinderconnect.utils.Constants;
+import com.google.firebase.firestore.Exclude;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resumen de asistencia de un grupo en un día: classDailySummary/{teacherId}_{yyyyMMdd}.
+ * Igual que {@link AttendanceSummary}, guarda el estado por alumno y los conteos se derivan
+ * del mapa para que reescribir o reintentar no cuente doble.
+ */
+public class ClassDailySummary {
+    private String teacherId;
+    private String day; // "yyyyMMdd"
+    private Map<String, String> students; // studentId -> estado
+    private Date updatedAt;
+
+    public ClassDailySummary() {
+        this.students = new HashMap<>();
+    }
+
+    public ClassDailySummary(String teacherId, String day) {
+        this.teacherId = teacherId;
+        this.day = day;
+        this.students = new HashMap<>();
+    }
+
+    // Getters y Setters
+    public String getTeacherId() { return teacherId; }
+    public void setTeacherId(String teacherId) { this.teacherId = teacherId; }
+
+    public String getDay() { return day; }
+    public void setDay(String day) { this.day = day; }
+
+    public Map<String, String> getStudents() { return students; }
+    public void setStudents(Map<String, String> students) { this.students = students; }
+
+    public Date getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Date updatedAt) { this.updatedAt = updatedAt; }
+
+    // Conteos derivados (no se guardan en Firestore)
+    @Exclude
+    public int getTotal() { return students != null ? students.size() : 0; }
+
+    @Exclude
+    public int getPresent() { return count(Constants.ATTENDANCE_PRESENT); }
+
+    @Exclude
+    public int getLate() { return count(Constants.ATTENDANCE_LATE); }
+
+    @Exclude
+    public int getAbsent() { return count(Constants.ATTENDANCE_ABSENT); }
+
+    // Alumnos que asistieron (presentes o con retardo)
+    @Exclude
+    public int getAttended() { return getPresent() + getLate(); }
+
+    private int count(String status) {
+        if (students == null) return 0;
+        int count = 0;
+        for (String value : students.values()) {
+            if (status.equals(value)) count++;
+        }
+        return count;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.kinderconnect.data.model;
 
 import com.google.firebase.firestore.DocumentId;
+import com.google.firebase.firestore.Exclude;
 import com.google.firebase.firestore.ServerTimestamp;
 import java.util.ArrayList;
 import java.util.Date;
@@ -73,7 +74,12 @@ public class Notice {
     public Date getPublishedAt() { return publishedAt; }
     public void setPublishedAt(Date publishedAt) { this.publishedAt = publishedAt; }
 
+    // readBy ya no se escribe: las lecturas nuevas van en notices/{id}/readReceipts.
+    // NoticeMapper sí lo lee para respetar las lecturas de avisos viejos
+    // (ver NoticeRepository.withReadState).
+    @Exclude
     public List<String> getReadBy() { return readBy; }
+    @Exclude
     public void setReadBy(List<String> readBy) { this.readBy = readBy; }
 
     public boolean isReadByUser(String userId) {
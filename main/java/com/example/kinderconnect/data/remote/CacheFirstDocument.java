@@ -0,0 +1,56 @@
+package com.example.kinderconnect.data.remote;
+
+import android.util.Log;
+import androidx.lifecycle.MutableLiveData;
+import com.example.kinderconnect.utils.Resource;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.Source;
+
+import java.util.Objects;
+
+/**
+ * Lectura de un documento en modo "stale-while-revalidate": primero se emite lo que haya
+ * en la caché local de Firestore para pintar al instante, y después se consulta el servidor.
+ * El resultado del servidor solo se emite si es distinto de lo que ya se mostró.
+ */
+public final class CacheFirstDocument {
+    private static final String TAG = "CacheFirstDocument";
+
+    private CacheFirstDocument() {
+    }
+
+    /**
+     * @param onMissing se ejecuta cuando el servidor confirma que el documento no existe
+     *                  (o no hay red y tampoco estaba en caché). Debe emitir en {@code result}.
+     */
+    public static <T> void get(DocumentReference reference,
+                               FirestoreDocumentLiveData.Mapper<T> mapper,
+                               MutableLiveData<Resource<T>> result,
+                               Runnable onMissing) {
+        reference.get(Source.CACHE).addOnCompleteListener(cacheTask -> {
+            DocumentSnapshot cached = cacheTask.isSuccessful() ? cacheTask.getResult() : null;
+            boolean emittedFromCache = cached != null && cached.exists();
+            if (emittedFromCache) {
+                result.setValue(Resource.success(mapper.map(cached)));
+            }
+
+            reference.get(Source.SERVER)
+                    .addOnSuccessListener(snapshot -> {
+                        if (!snapshot.exists()) {
+                            onMissing.run();
+                        } else if (!emittedFromCache
+                                || !Objects.equals(cached.getData(), snapshot.getData())) {
+                            result.setValue(Resource.success(mapper.map(snapshot)));
+                        }
+                    })
+                    .addOnFailureListener(e -> {
+                        // Sin red: si ya se mostró la copia local nos quedamos con ella
+                        Log.w(TAG, "No se pudo revalidar " + reference.getPath(), e);
+                        if (!emittedFromCache) {
+                            result.setValue(Resource.error(e.getMessage(), null));
+                        }
+                    });
+        });
+    }
+}
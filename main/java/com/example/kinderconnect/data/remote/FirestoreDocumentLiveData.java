@@ -0,0 +1,81 @@
+package com.example.kinderconnect.data.remote;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import androidx.lifecycle.LiveData;
+import com.example.kinderconnect.utils.AppExecutors;
+import com.example.kinderconnect.utils.Resource;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.ListenerRegistration;
+
+/**
+ * Igual que {@link FirestoreQueryLiveData} pero para un solo documento.
+ * El mapper recibe también los snapshots de documentos que no existen, y también
+ * corre en {@link AppExecutors#snapshotIO()}.
+ */
+public class FirestoreDocumentLiveData<T> extends LiveData<Resource<T>> {
+    private static final String TAG = "FirestoreDocLiveData";
+
+    public interface Mapper<T> {
+        T map(DocumentSnapshot snapshot);
+    }
+
+    private final DocumentReference reference;
+    private final Mapper<T> mapper;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable detachRunnable = this::detach;
+    private final long detachGraceMs;
+    private ListenerRegistration registration;
+    private Runnable onDetached;
+
+    public FirestoreDocumentLiveData(DocumentReference reference, Mapper<T> mapper) {
+        this(reference, mapper, FirestoreQueryLiveData.DETACH_GRACE_MS);
+    }
+
+    FirestoreDocumentLiveData(DocumentReference reference, Mapper<T> mapper, long detachGraceMs) {
+        this.reference = reference;
+        this.mapper = mapper;
+        this.detachGraceMs = detachGraceMs;
+        setValue(Resource.loading(null));
+    }
+
+    @Override
+    protected void onActive() {
+        handler.removeCallbacks(detachRunnable);
+        if (registration == null) {
+            registration = reference.addSnapshotListener(AppExecutors.getInstance().snapshotIO(),
+                    (snapshot, error) -> {
+                        if (error != null) {
+                            Log.e(TAG, "Error en listener de " + reference.getPath(), error);
+                            postValue(Resource.error(error.getMessage(), null));
+                            return;
+                        }
+                        if (snapshot != null) {
+                            postValue(Resource.success(mapper.map(snapshot)));
+                        }
+                    });
+        }
+    }
+
+    @Override
+    protected void onInactive() {
+        handler.postDelayed(detachRunnable, detachGraceMs);
+    }
+
+    // Lo usa FirestoreQueryRegistry para olvidar el stream cuando se suelta el listener
+    void setOnDetached(Runnable onDetached) {
+        this.onDetached = onDetached;
+    }
+
+    private void detach() {
+        if (registration != null) {
+            registration.remove();
+            registration = null;
+        }
+        if (onDetached != null) {
+            onDetached.run();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.kinderconnect.data.remote;
+
+import android.content.Context;
+import android.util.Log;
+import com.example.kinderconnect.KinderConnectApp;
+import com.example.kinderconnect.R;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreSettings;
+import com.google.firebase.firestore.PersistentCacheIndexManager;
+import com.google.firebase.firestore.PersistentCacheSettings;
+import com.google.firebase.storage.FirebaseStorage;
+
+/**
+ * Punto único para obtener FirebaseFirestore ya configurado.
+ * Los ajustes solo se pueden aplicar antes del primer uso de la instancia, por eso se
+ * configuran aquí una sola vez y todos los repositorios piden la instancia a esta clase.
+ */
+public final class FirestoreProvider {
+    private static final String TAG = "FirestoreProvider";
+
+    // Tamaño máximo de la caché local; al superarlo el recolector LRU borra
+    // los documentos menos usados que no tengan listeners activos
+    private static final long CACHE_SIZE_BYTES = 100L * 1024 * 1024;
+
+    // Puertos por defecto de firebase emulators:start
+    private static final int FIRESTORE_EMULATOR_PORT = 8080;
+    private static final int AUTH_EMULATOR_PORT = 9099;
+    private static final int STORAGE_EMULATOR_PORT = 9199;
+
+    private static volatile FirebaseFirestore instance;
+
+    private FirestoreProvider() {
+    }
+
+    public static FirebaseFirestore get() {
+        if (instance == null) {
+            synchronized (FirestoreProvider.class) {
+                if (instance == null) {
+                    instance = create();
+                }
+            }
+        }
+        return instance;
+    }
+
+    private static FirebaseFirestore create() {
+        FirebaseFirestore firestore = FirebaseFirestore.getInstance();
+        connectEmulatorsIfEnabled(firestore);
+
+        FirebaseFirestoreSettings settings = new FirebaseFirestoreSettings.Builder()
+                .setLocalCacheSettings(PersistentCacheSettings.newBuilder()
+                        .setSizeBytes(CACHE_SIZE_BYTES)
+                        .build())
+                .build();
+        firestore.setFirestoreSettings(settings);
+
+        // Índices locales automáticos: las consultas sin red no recorren toda la caché
+        PersistentCacheIndexManager indexManager = firestore.getPersistentCacheIndexManager();
+        if (indexManager != null) {
+            indexManager.enableIndexAutoCreation();
+        } else {
+            Log.w(TAG, "Caché persistente no disponible, sin índices locales");
+        }
+
+        return firestore;
+    }
+
+    // Igual que los ajustes, useEmulator() debe llamarse antes del primer uso
+    private static void connectEmulatorsIfEnabled(FirebaseFirestore firestore) {
+        Context context = KinderConnectApp.getInstance();
+        if (context == null || !context.getResources().getBoolean(R.bool.use_firebase_emulator)) {
+            return;
+        }
+        String host = context.getString(R.string.firebase_emulator_host);
+        Log.w(TAG, "Usando emuladores de Firebase en " + host);
+        firestore.useEmulator(host, FIRESTORE_EMULATOR_PORT);
+        FirebaseAuth.getInstance().useEmulator(host, AUTH_EMULATOR_PORT);
+        FirebaseStorage.getInstance().useEmulator(host, STORAGE_EMULATOR_PORT);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.kinderconnect.data.remote;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import androidx.lifecycle.LiveData;
+import com.example.kinderconnect.utils.AppExecutors;
+import com.example.kinderconnect.utils.Resource;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+
+/**
+ * LiveData que escucha una Query de Firestore solo mientras tiene observadores activos.
+ * El listener se registra en onActive() y se elimina después de un breve periodo de gracia
+ * en onInactive(), así una rotación o un cambio rápido de pestaña no reinicia la consulta.
+ * El listener corre en {@link AppExecutors#snapshotIO()}: el mapper (toObjects, asignar IDs,
+ * ordenar) no bloquea el hilo principal y solo se publica la lista terminada.
+ */
+public class FirestoreQueryLiveData<T> extends LiveData<Resource<T>> {
+    private static final String TAG = "FirestoreQueryLiveData";
+
+    // Tiempo que se mantiene el listener vivo sin observadores
+    static final long DETACH_GRACE_MS = 3000;
+
+    public interface Mapper<T> {
+        T map(QuerySnapshot snapshot);
+    }
+
+    private final Query query;
+    private final Mapper<T> mapper;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable detachRunnable = this::detach;
+    private final long detachGraceMs;
+    private ListenerRegistration registration;
+    private Runnable onDetached;
+
+    public FirestoreQueryLiveData(Query query, Mapper<T> mapper) {
+        this(query, mapper, DETACH_GRACE_MS);
+    }
+
+    FirestoreQueryLiveData(Query query, Mapper<T> mapper, long detachGraceMs) {
+        this.query = query;
+        this.mapper = mapper;
+        this.detachGraceMs = detachGraceMs;
+        setValue(Resource.loading(null));
+    }
+
+    @Override
+    protected void onActive() {
+        handler.removeCallbacks(detachRunnable);
+        if (registration == null) {
+            registration = query.addSnapshotListener(AppExecutors.getInstance().snapshotIO(),
+                    (value, error) -> {
+                        if (error != null) {
+                            Log.e(TAG, "Error en listener de Firestore", error);
+                            postValue(Resource.error(error.getMessage(), null));
+                            return;
+                        }
+                        if (value != null) {
+                            postValue(Resource.success(mapper.map(value)));
+                        }
+                    });
+        }
+    }
+
+    @Override
+    protected void onInactive() {
+        handler.postDelayed(detachRunnable, detachGraceMs);
+    }
+
+    // Lo usa FirestoreQueryRegistry para olvidar el stream cuando se suelta el listener
+    void setOnDetached(Runnable onDetached) {
+        this.onDetached = onDetached;
+    }
+
+    private void detach() {
+        if (registration != null) {
+            registration.remove();
+            registration = null;
+        }
+        if (onDetached != null) {
+            onDetached.run();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.kinderconnect.data.remote;
+
+import android.util.Log;
+import androidx.lifecycle.LiveData;
+import com.example.kinderconnect.utils.Resource;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.Query;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registro de streams de Firestore compartidos por toda la app.
+ * Dos llamadas con la misma consulta (colección, filtros, orden y límite) y el mismo tipo
+ * reciben el mismo LiveData, así que comparten un solo listener y el último valor emitido.
+ * El conteo de observadores de LiveData hace de contador de referencias: cuando nadie
+ * observa durante SHARED_GRACE_MS se suelta el listener y la entrada se borra.
+ */
+public final class FirestoreQueryRegistry {
+    private static final String TAG = "FirestoreQueryRegistry";
+
+    // Más largo que el de un LiveData suelto para que cambiar de pestaña no vuelva a consultar
+    static final long SHARED_GRACE_MS = 30_000;
+
+    private static volatile FirestoreQueryRegistry instance;
+
+    private final Map<List<Object>, LiveData<?>> streams = new HashMap<>();
+
+    private FirestoreQueryRegistry() {
+    }
+
+    public static FirestoreQueryRegistry getInstance() {
+        if (instance == null) {
+            synchronized (FirestoreQueryRegistry.class) {
+                if (instance == null) {
+                    instance = new FirestoreQueryRegistry();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Devuelve el stream compartido para la consulta. {@code type} distingue mappers
+     * distintos sobre la misma consulta.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> LiveData<Resource<T>> query(Query query, Class<?> type,
+                                                         FirestoreQueryLiveData.Mapper<T> mapper) {
+        List<Object> key = Arrays.asList(query, type);
+        LiveData<?> existing = streams.get(key);
+        if (existing != null) {
+            return (LiveData<Resource<T>>) existing;
+        }
+
+        FirestoreQueryLiveData<T> stream = new FirestoreQueryLiveData<>(query, mapper, SHARED_GRACE_MS);
+        stream.setOnDetached(() -> release(key, stream));
+        streams.put(key, stream);
+        Log.d(TAG, "Nuevo stream compartido. Activos: " + streams.size());
+        return stream;
+    }
+
+    /**
+     * Devuelve el stream si ya existe, sin crear uno nuevo.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> LiveData<Resource<T>> peek(Query query, Class<?> type) {
+        return (LiveData<Resource<T>>) streams.get(Arrays.asList(query, type));
+    }
+
+    @SuppressWarnings("unchecked")
+    public synchronized <T> LiveData<Resource<T>> document(DocumentReference reference, Class<?> type,
+                                                            FirestoreDocumentLiveData.Mapper<T> mapper) {
+        List<Object> key = Arrays.asList(reference, type);
+        LiveData<?> existing = streams.get(key);
+        if (existing != null) {
+            return (LiveData<Resource<T>>) existing;
+        }
+
+        FirestoreDocumentLiveData<T> stream =
+                new FirestoreDocumentLiveData<>(reference, mapper, SHARED_GRACE_MS);
+        stream.setOnDetached(() -> release(key, stream));
+        streams.put(key, stream);
+        return stream;
+    }
+
+    private synchronized void release(List<Object> key, LiveData<?> stream) {
+        // Solo borramos si la entrada sigue siendo este stream
+        if (streams.get(key) == stream) {
+            streams.remove(key);
+        }
+    }
+}
@@ -1,25 +1,57 @@
 package com.example.kinderconnect.data.repository;
 
+import android.util.Log;
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
+import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.Query;
-import com.google.firebase.firestore.WriteBatch;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.Source;
+import com.example.kinderconnect.KinderConnectApp;
+import com.example.kinderconnect.data.local.db.AppDatabase;
+import com.example.kinderconnect.data.local.db.AttendanceDao;
+import com.example.kinderconnect.data.local.db.PendingMutationDao;
+import com.example.kinderconnect.data.local.entity.AttendanceEntity;
+import com.example.kinderconnect.data.local.entity.PendingMutation;
+import com.example.kinderconnect.data.mapper.AttendanceMapper;
 import com.example.kinderconnect.data.model.Attendance;
+import com.example.kinderconnect.data.model.AttendanceSummary;
+import com.example.kinderconnect.data.model.ClassDailySummary;
+import com.example.kinderconnect.data.remote.FirestoreProvider;
+import com.example.kinderconnect.data.remote.FirestoreQueryRegistry;
 import com.example.kinderconnect.utils.Constants;
+import com.example.kinderconnect.utils.AppExecutors;
+import com.example.kinderconnect.utils.DateUtils;
 import com.example.kinderconnect.utils.Resource;
-import java.util.Calendar;
+import com.example.kinderconnect.workers.SyncWorker;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class AttendanceRepository {
+    private static final String TAG = "AttendanceRepository";
     private final FirebaseFirestore firestore;
+    private final AppDatabase database;
+    private final AttendanceDao attendanceDao;
+    private final PendingMutationDao pendingMutationDao;
 
     public AttendanceRepository() {
-        this.firestore = FirebaseFirestore.getInstance();
+        this.firestore = FirestoreProvider.get();
+        this.database = AppDatabase.getInstance(KinderConnectApp.getInstance());
+        this.attendanceDao = database.attendanceDao();
+        this.pendingMutationDao = database.pendingMutationDao();
     }
 
     // NUEVO MÉTODO AGREGADO - Bulk Save
+    /**
+     * Guarda en Room y en el outbox en una sola transacción; SyncWorker sube los cambios
+     * a Firestore cuando hay red. El resultado es éxito en cuanto queda guardado localmente.
+     */
     public LiveData<Resource<Void>> saveAttendance(List<Attendance> attendanceList) {
         MutableLiveData<Resource<Void>> result = new MutableLiveData<>();
         result.setValue(Resource.loading(null));
@@ -29,129 +61,384 @@ public class AttendanceRepository {
             return result;
         }
 
-        WriteBatch batch = firestore.batch();
+        AppExecutors.getInstance().diskIO().execute(() -> {
+            try {
+                database.runInTransaction(() -> {
+                    for (Attendance attendance : attendanceList) {
+                        saveLocally(attendance);
+                    }
+                });
+                SyncWorker.enqueue(KinderConnectApp.getInstance());
+                result.postValue(Resource.success(null));
+            } catch (Exception e) {
+                Log.e(TAG, "Error al guardar asistencia local", e);
+                result.postValue(Resource.error("Error al guardar asistencia: " + e.getMessage(), null));
+            }
+        });
 
-        for (Attendance attendance : attendanceList) {
-            Date normalizedDate = normalizeDate(attendance.getAttendanceDate());
-            attendance.setAttendanceDate(normalizedDate);
+        return result;
+    }
 
-            String docId = firestore.collection(Constants.COLLECTION_ATTENDANCE).document().getId();
-            attendance.setAttendanceId(docId);
-            batch.set(firestore.collection(Constants.COLLECTION_ATTENDANCE).document(docId), attendance);
-        }
+    public LiveData<Resource<String>> recordAttendance(Attendance attendance) {
+        MutableLiveData<Resource<String>> result = new MutableLiveData<>();
+        result.setValue(Resource.loading(null));
 
-        batch.commit()
-                .addOnSuccessListener(aVoid -> result.setValue(Resource.success(null)))
-                .addOnFailureListener(e -> result.setValue(Resource.error("Error al guardar asistencia: " + e.getMessage(), null)));
+        AppExecutors.getInstance().diskIO().execute(() -> {
+            try {
+                String attendanceId = database.runInTransaction(() -> saveLocally(attendance));
+                SyncWorker.enqueue(KinderConnectApp.getInstance());
+                result.postValue(Resource.success(attendanceId));
+            } catch (Exception e) {
+                Log.e(TAG, "Error al guardar asistencia local", e);
+                result.postValue(Resource.error("Error: " + e.getMessage(), null));
+            }
+        });
 
         return result;
     }
 
-    public LiveData<Resource<String>> recordAttendance(Attendance attendance) {
-        MutableLiveData<Resource<String>> result = new MutableLiveData<>();
+    /**
+     * Guarda la asistencia de todo el grupo para un día: studentId -> estado.
+     * No hace lecturas a Firestore porque los IDs son deterministas; todo entra al outbox
+     * en una sola transacción y SyncWorker lo sube en un solo WriteBatch.
+     * Emite un único resultado para todo el grupo.
+     */
+    public LiveData<Resource<Void>> upsertClassAttendance(String teacherId, Date day,
+                                                          Map<String, String> statusByStudent) {
+        MutableLiveData<Resource<Void>> result = new MutableLiveData<>();
         result.setValue(Resource.loading(null));
 
-        Date normalizedDate = normalizeDate(attendance.getAttendanceDate());
+        if (statusByStudent == null || statusByStudent.isEmpty()) {
+            result.setValue(Resource.error("Lista de asistencia vacía", null));
+            return result;
+        }
 
-        firestore.collection(Constants.COLLECTION_ATTENDANCE)
-                .whereEqualTo("studentId", attendance.getStudentId())
-                .whereEqualTo("attendanceDate", normalizedDate)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    if (!querySnapshot.isEmpty()) {
-                        String attendanceId = querySnapshot.getDocuments().get(0).getId();
-                        updateExistingAttendance(attendanceId, attendance, result);
-                    } else {
-                        attendance.setAttendanceDate(normalizedDate);
-                        createNewAttendance(attendance, result);
+        AppExecutors.getInstance().diskIO().execute(() -> {
+            try {
+                database.runInTransaction(() -> {
+                    for (Map.Entry<String, String> entry : statusByStudent.entrySet()) {
+                        saveLocally(new Attendance(entry.getKey(), teacherId, day, entry.getValue()));
                     }
-                })
-                .addOnFailureListener(e -> result.setValue(Resource.error(
-                        "Error: " + e.getMessage(), null)));
+                });
+                SyncWorker.enqueue(KinderConnectApp.getInstance());
+                result.postValue(Resource.success(null));
+            } catch (Exception e) {
+                Log.e(TAG, "Error al guardar asistencia del grupo", e);
+                result.postValue(Resource.error("Error al guardar asistencia: " + e.getMessage(), null));
+            }
+        });
 
         return result;
     }
 
-    private Date normalizeDate(Date date) {
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(date);
-        cal.set(Calendar.HOUR_OF_DAY, 0);
-        cal.set(Calendar.MINUTE, 0);
-        cal.set(Calendar.SECOND, 0);
-        cal.set(Calendar.MILLISECOND, 0);
-        return cal.getTime();
+    /**
+     * ID determinista de la asistencia de un alumno en un día: {studentId}_{yyyyMMdd}.
+     * Permite escribir con set() sin consultar antes si ya existía.
+     */
+    public static String buildAttendanceId(String studentId, Date day) {
+        return studentId + "_" + DateUtils.formatDayKey(day);
     }
 
-    private void updateExistingAttendance(String attendanceId, Attendance attendance,
-                                          MutableLiveData<Resource<String>> result) {
-        firestore.collection(Constants.COLLECTION_ATTENDANCE)
-                .document(attendanceId)
-                .set(attendance)
-                .addOnSuccessListener(aVoid -> result.setValue(Resource.success(attendanceId)))
-                .addOnFailureListener(e -> result.setValue(Resource.error(
-                        "Error: " + e.getMessage(), null)));
+    // ID del resumen mensual: {studentId}_{yyyyMM}
+    public static String buildSummaryId(String studentId, String yearMonth) {
+        return studentId + "_" + yearMonth;
     }
 
-    private void createNewAttendance(Attendance attendance,
-                                     MutableLiveData<Resource<String>> result) {
-        firestore.collection(Constants.COLLECTION_ATTENDANCE)
-                .add(attendance)
-                .addOnSuccessListener(documentReference ->
-                        result.setValue(Resource.success(documentReference.getId())))
-                .addOnFailureListener(e -> result.setValue(Resource.error(
-                        "Error: " + e.getMessage(), null)));
-    }
+    /**
+     * Resumen de asistencia del alumno en un mes ("yyyyMM"): un solo documento.
+     * Lo mantiene SyncWorker en el mismo batch que cada asistencia, pero solo desde que
+     * existe; mientras no tenga backfilledAt se completa con la consulta de asistencias
+     * del mes y se intenta guardar el resultado (ver backfillMonthlySummary).
+     */
+    public LiveData<Resource<AttendanceSummary>> getMonthlySummary(String studentId, String yearMonth) {
+        LiveData<Resource<AttendanceSummary>> stored = FirestoreQueryRegistry.getInstance().document(
+                firestore.collection(Constants.COLLECTION_ATTENDANCE_SUMMARIES)
+                        .document(buildSummaryId(studentId, yearMonth)),
+                AttendanceSummary.class,
+                snapshot -> {
+                    AttendanceSummary summary = snapshot.exists()
+                            ? snapshot.toObject(AttendanceSummary.class) : null;
+                    return summary != null ? summary : new AttendanceSummary(studentId, yearMonth);
+                });
 
-    public LiveData<Resource<List<Attendance>>> getAttendanceByDate(String teacherId, Date date) {
-        MutableLiveData<Resource<List<Attendance>>> result = new MutableLiveData<>();
-        result.setValue(Resource.loading(null));
+        MediatorLiveData<Resource<AttendanceSummary>> result = new MediatorLiveData<>();
+        MutableLiveData<Map<String, String>> rawDays = new MutableLiveData<>();
+        boolean[] backfillStarted = {false};
 
-        Date normalizedDate = normalizeDate(date);
+        Runnable combine = () -> {
+            Resource<AttendanceSummary> resource = stored.getValue();
+            if (resource == null) return;
+            AttendanceSummary summary = resource.getData();
+            Map<String, String> raw = rawDays.getValue();
+            if (summary == null || summary.getBackfilledAt() != null || raw == null) {
+                result.setValue(resource);
+                return;
+            }
+            // Lo que ya escribió SyncWorker es más nuevo que la consulta
+            AttendanceSummary combined = new AttendanceSummary(studentId, yearMonth);
+            Map<String, String> days = new HashMap<>(raw);
+            if (summary.getDays() != null) days.putAll(summary.getDays());
+            combined.setDays(days);
+            combined.setUpdatedAt(summary.getUpdatedAt());
+            result.setValue(Resource.success(combined));
+        };
 
+        result.addSource(stored, resource -> {
+            if (resource != null && resource.getStatus() == Resource.Status.SUCCESS
+                    && resource.getData() != null && resource.getData().getBackfilledAt() == null
+                    && !backfillStarted[0]) {
+                backfillStarted[0] = true;
+                backfillMonthlySummary(studentId, yearMonth, rawDays);
+            }
+            combine.run();
+        });
+        result.addSource(rawDays, days -> combine.run());
+        return result;
+    }
+
+    /**
+     * Arma los días del mes desde la colección de asistencias (un registro por alumno y día)
+     * y los guarda con merge en el resumen junto con backfilledAt. Si no hay permiso para
+     * escribir, la pantalla sigue usando lo calculado aquí.
+     */
+    private void backfillMonthlySummary(String studentId, String yearMonth,
+                                        MutableLiveData<Map<String, String>> rawDays) {
         firestore.collection(Constants.COLLECTION_ATTENDANCE)
-                .whereEqualTo("teacherId", teacherId)
-                .whereEqualTo("attendanceDate", normalizedDate)
-                .addSnapshotListener((value, error) -> {
-                    if (error != null) {
-                        result.setValue(Resource.error("Error: " + error.getMessage(), null));
-                        return;
+                .whereEqualTo("studentId", studentId)
+                .whereGreaterThanOrEqualTo("attendanceDate", DateUtils.startOfMonth(yearMonth))
+                .whereLessThanOrEqualTo("attendanceDate", DateUtils.endOfMonth(yearMonth))
+                .orderBy("attendanceDate", Query.Direction.DESCENDING)
+                .get()
+                .addOnSuccessListener(snapshot -> {
+                    Map<String, String> days = new HashMap<>();
+                    for (Attendance attendance : dedupeByStudentDay(AttendanceMapper.INSTANCE.mapAll(snapshot))) {
+                        if (attendance.getStatus() != null) {
+                            days.put(DateUtils.formatDayOfMonthKey(attendance.getAttendanceDate()),
+                                    attendance.getStatus());
+                        }
                     }
+                    rawDays.setValue(days);
 
-                    if (value != null) {
-                        List<Attendance> attendanceList = value.toObjects(Attendance.class);
-                        result.setValue(Resource.success(attendanceList));
-                    }
+                    Map<String, Object> summary = new HashMap<>();
+                    summary.put("studentId", studentId);
+                    summary.put("yearMonth", yearMonth);
+                    summary.put("days", days);
+                    summary.put("backfilledAt", FieldValue.serverTimestamp());
+                    firestore.collection(Constants.COLLECTION_ATTENDANCE_SUMMARIES)
+                            .document(buildSummaryId(studentId, yearMonth))
+                            .set(summary, SetOptions.merge())
+                            .addOnFailureListener(e -> Log.w(TAG, "No se pudo guardar el resumen mensual", e));
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Error al completar el resumen mensual", e));
+    }
+
+    // ID del resumen diario del grupo: {teacherId}_{yyyyMMdd}
+    public static String buildClassSummaryId(String teacherId, Date day) {
+        return teacherId + "_" + DateUtils.formatDayKey(day);
+    }
+
+    /**
+     * Resumen de asistencia del grupo de la maestra en un día: un solo documento pequeño.
+     */
+    public LiveData<Resource<ClassDailySummary>> getClassDailySummary(String teacherId, Date day) {
+        Date normalizedDate = normalizeDate(day);
+        return FirestoreQueryRegistry.getInstance().document(
+                firestore.collection(Constants.COLLECTION_CLASS_DAILY_SUMMARY)
+                        .document(buildClassSummaryId(teacherId, normalizedDate)),
+                ClassDailySummary.class,
+                snapshot -> {
+                    ClassDailySummary summary = snapshot.exists()
+                            ? snapshot.toObject(ClassDailySummary.class) : null;
+                    return summary != null ? summary
+                            : new ClassDailySummary(teacherId, DateUtils.formatDayKey(normalizedDate));
                 });
+    }
 
-        return result;
+    // Debe llamarse dentro de una transacción de Room, en diskIO
+    private String saveLocally(Attendance attendance) {
+        Date normalizedDate = normalizeDate(attendance.getAttendanceDate());
+        attendance.setAttendanceDate(normalizedDate);
+
+        String attendanceId = buildAttendanceId(attendance.getStudentId(), normalizedDate);
+        attendance.setAttendanceId(attendanceId);
+
+        // Registros viejos con ID aleatorio para el mismo alumno y día: se reemplazan
+        for (String legacyId : attendanceDao.findLegacyIds(
+                attendance.getStudentId(), normalizedDate, attendanceId)) {
+            attendanceDao.deleteById(legacyId);
+            pendingMutationDao.enqueue(
+                    PendingMutation.delete(Constants.COLLECTION_ATTENDANCE, legacyId));
+        }
+
+        attendanceDao.insert(AttendanceEntity.fromModel(attendance, true));
+        pendingMutationDao.enqueue(
+                PendingMutation.set(Constants.COLLECTION_ATTENDANCE, attendanceId));
+        return attendanceId;
+    }
+
+    // Las asistencias se guardan con la fecha a medianoche para poder buscarlas por día
+    public static Date normalizeDate(Date date) {
+        return DateUtils.startOfDay(date);
+    }
+
+    public LiveData<Resource<List<Attendance>>> getAttendanceByDate(String teacherId, Date date) {
+        Date normalizedDate = normalizeDate(date);
+
+        LiveData<Resource<List<Attendance>>> remote = FirestoreQueryRegistry.getInstance().query(
+                firestore.collection(Constants.COLLECTION_ATTENDANCE)
+                        .whereEqualTo("teacherId", teacherId)
+                        .whereEqualTo("attendanceDate", normalizedDate),
+                Attendance.class,
+                value -> {
+                    List<Attendance> attendanceList =
+                            dedupeByStudentDay(AttendanceMapper.INSTANCE.mapAll(value));
+                    List<AttendanceEntity> entities = toEntities(attendanceList);
+                    boolean fromCache = value.getMetadata().isFromCache();
+                    AppExecutors.getInstance().diskIO().execute(() -> {
+                        if (fromCache) attendanceDao.insertRemote(entities);
+                        else attendanceDao.replaceByDate(teacherId, normalizedDate, entities);
+                    });
+                    return attendanceList;
+                });
+        return OfflineFirstResource.create(attendanceDao.observeByDate(teacherId, normalizedDate),
+                AttendanceEntity::toModel, remote);
     }
 
     public LiveData<Resource<List<Attendance>>> getAttendanceByStudent(String studentId,
                                                                        Date startDate,
                                                                        Date endDate) {
-        MutableLiveData<Resource<List<Attendance>>> result = new MutableLiveData<>();
+        LiveData<Resource<List<Attendance>>> remote = FirestoreQueryRegistry.getInstance().query(
+                firestore.collection(Constants.COLLECTION_ATTENDANCE)
+                        .whereEqualTo("studentId", studentId)
+                        .whereGreaterThanOrEqualTo("attendanceDate", startDate)
+                        .whereLessThanOrEqualTo("attendanceDate", endDate)
+                        .orderBy("attendanceDate", Query.Direction.DESCENDING),
+                Attendance.class,
+                value -> {
+                    List<Attendance> attendanceList =
+                            dedupeByStudentDay(AttendanceMapper.INSTANCE.mapAll(value));
+                    List<AttendanceEntity> entities = toEntities(attendanceList);
+                    boolean fromCache = value.getMetadata().isFromCache();
+                    AppExecutors.getInstance().diskIO().execute(() -> {
+                        if (fromCache) attendanceDao.insertRemote(entities);
+                        else attendanceDao.replaceByStudent(studentId, startDate, endDate, entities);
+                    });
+                    return attendanceList;
+                });
+        return OfflineFirstResource.create(
+                attendanceDao.observeByStudent(studentId, startDate, endDate),
+                AttendanceEntity::toModel, remote);
+    }
+
+    /**
+     * Deja un solo registro por alumno y día. En el servidor pueden convivir registros viejos
+     * con ID aleatorio y el de ID determinista; se prefiere el determinista y, si no hay,
+     * el registrado más recientemente.
+     */
+    private static List<Attendance> dedupeByStudentDay(List<Attendance> attendanceList) {
+        Map<String, Attendance> byKey = new LinkedHashMap<>();
+        for (Attendance attendance : attendanceList) {
+            if (attendance.getStudentId() == null || attendance.getAttendanceDate() == null) {
+                continue;
+            }
+            String key = buildAttendanceId(attendance.getStudentId(), attendance.getAttendanceDate());
+            Attendance current = byKey.get(key);
+            if (current == null || isPreferred(attendance, current, key)) {
+                byKey.put(key, attendance);
+            }
+        }
+        return new ArrayList<>(byKey.values());
+    }
+
+    private static boolean isPreferred(Attendance candidate, Attendance current, String key) {
+        if (key.equals(current.getAttendanceId())) return false;
+        if (key.equals(candidate.getAttendanceId())) return true;
+        Date candidateAt = candidate.getRecordedAt();
+        Date currentAt = current.getRecordedAt();
+        return candidateAt != null && (currentAt == null || candidateAt.after(currentAt));
+    }
+
+    /**
+     * Migración única de las asistencias de una maestra con ID aleatorio. Lee del servidor
+     * (nunca de la caché, para no decidir con datos parciales): por alumno y día, si el
+     * registro que se conserva es viejo se reescribe con su ID determinista (SyncWorker
+     * actualiza también los resúmenes) y los registros con ID aleatorio se borran por el
+     * outbox. Si en Room ya hay una fila determinista pendiente de subir o más reciente,
+     * esa gana y solo se borran los viejos. Devuelve cuántos registros viejos se borraron.
+     */
+    public LiveData<Resource<Integer>> migrateLegacyAttendance(String teacherId) {
+        MutableLiveData<Resource<Integer>> result = new MutableLiveData<>();
         result.setValue(Resource.loading(null));
 
         firestore.collection(Constants.COLLECTION_ATTENDANCE)
-                .whereEqualTo("studentId", studentId)
-                .whereGreaterThanOrEqualTo("attendanceDate", startDate)
-                .whereLessThanOrEqualTo("attendanceDate", endDate)
-                .orderBy("attendanceDate", Query.Direction.DESCENDING)
-                .addSnapshotListener((value, error) -> {
-                    if (error != null) {
-                        result.setValue(Resource.error("Error: " + error.getMessage(), null));
-                        return;
-                    }
-
-                    if (value != null) {
-                        List<Attendance> attendanceList = value.toObjects(Attendance.class);
-                        result.setValue(Resource.success(attendanceList));
-                    }
-                });
+                .whereEqualTo("teacherId", teacherId)
+                .get(Source.SERVER)
+                .addOnSuccessListener(snapshot -> {
+                    List<Attendance> all = AttendanceMapper.INSTANCE.mapAll(snapshot);
+                    List<Attendance> kept = dedupeByStudentDay(all);
+                    AppExecutors.getInstance().diskIO().execute(() -> {
+                        try {
+                            int deleted = migrateLegacy(all, kept);
+                            if (deleted > 0) SyncWorker.enqueue(KinderConnectApp.getInstance());
+                            Log.d(TAG, "Asistencias con ID aleatorio migradas: " + deleted);
+                            result.postValue(Resource.success(deleted));
+                        } catch (Exception e) {
+                            Log.e(TAG, "Error al migrar asistencias", e);
+                            result.postValue(Resource.error(
+                                    "Error al migrar asistencias: " + e.getMessage(), null));
+                        }
+                    });
+                })
+                .addOnFailureListener(e -> result.setValue(Resource.error(
+                        "Error al migrar asistencias: " + e.getMessage(), null)));
 
         return result;
     }
 
+    // Debe llamarse en diskIO
+    private int migrateLegacy(List<Attendance> all, List<Attendance> kept) {
+        List<String> legacyIds = new ArrayList<>();
+        for (Attendance attendance : all) {
+            String id = attendance.getAttendanceId();
+            if (id != null && attendance.getStudentId() != null && attendance.getAttendanceDate() != null
+                    && !id.equals(buildAttendanceId(attendance.getStudentId(), attendance.getAttendanceDate()))) {
+                legacyIds.add(id);
+            }
+        }
+        if (legacyIds.isEmpty()) return 0;
+
+        database.runInTransaction(() -> {
+            for (Attendance attendance : kept) {
+                if (!legacyIds.contains(attendance.getAttendanceId())) continue;
+                AttendanceEntity local = attendanceDao.getById(
+                        buildAttendanceId(attendance.getStudentId(), attendance.getAttendanceDate()));
+                if (local != null && (local.isPendingSync() || isNewer(local.getRecordedAt(),
+                        attendance.getRecordedAt()))) {
+                    continue; // La edición local es la buena; no se pisa con el registro viejo
+                }
+                saveLocally(attendance);
+            }
+            for (String legacyId : legacyIds) {
+                attendanceDao.deleteById(legacyId);
+                pendingMutationDao.enqueue(
+                        PendingMutation.delete(Constants.COLLECTION_ATTENDANCE, legacyId));
+            }
+        });
+        return legacyIds.size();
+    }
+
+    private static boolean isNewer(Date a, Date b) {
+        return a != null && (b == null || a.after(b));
+    }
+
+    private static List<AttendanceEntity> toEntities(List<Attendance> attendanceList) {
+        List<AttendanceEntity> entities = new ArrayList<>();
+        for (Attendance attendance : attendanceList) {
+            entities.add(AttendanceEntity.fromModel(attendance, false));
+        }
+        return entities;
+    }
+
     public LiveData<Resource<Void>> markAsNotified(String attendanceId) {
         MutableLiveData<Resource<Void>> result = new MutableLiveData<>();
         result.setValue(Resource.loading(null));
@@ -4,9 +4,16 @@ import android.util.Log; // <-- AÑADIDO
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthInvalidUserException;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.FirebaseFirestoreSettings;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.Source;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.example.kinderconnect.data.local.PreferencesManager;
+import com.example.kinderconnect.data.remote.CacheFirstDocument;
+import com.example.kinderconnect.data.remote.FirestoreProvider;
+import com.example.kinderconnect.data.mapper.UserMapper;
 import com.example.kinderconnect.data.model.User;
 import com.example.kinderconnect.utils.Constants;
 import com.example.kinderconnect.utils.Resource;
@@ -19,12 +26,7 @@ public class AuthRepository {
 
     public AuthRepository() {
         this.firebaseAuth = FirebaseAuth.getInstance();
-        this.firestore = FirebaseFirestore.getInstance();
-
-        FirebaseFirestoreSettings settings = new FirebaseFirestoreSettings.Builder()
-                .setPersistenceEnabled(true)
-                .build();
-        firestore.setFirestoreSettings(settings);
+        this.firestore = FirestoreProvider.get();
 
         this.userLiveData = new MutableLiveData<>();
 
@@ -95,19 +97,11 @@ public class AuthRepository {
         MutableLiveData<Resource<User>> result = new MutableLiveData<>();
         result.setValue(Resource.loading(null));
 
-        firestore.collection(Constants.COLLECTION_USERS)
-                .document(uid)
-                .get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        User user = documentSnapshot.toObject(User.class);
-                        result.setValue(Resource.success(user));
-                    } else {
-                        result.setValue(Resource.error("Usuario no encontrado", null));
-                    }
-                })
-                .addOnFailureListener(e -> result.setValue(Resource.error(
-                        "Error al obtener datos: " + e.getMessage(), null)));
+        // Pinta desde la caché y revalida con el servidor
+        CacheFirstDocument.get(firestore.collection(Constants.COLLECTION_USERS).document(uid),
+                UserMapper.INSTANCE::map,
+                result,
+                () -> result.setValue(Resource.error("Usuario no encontrado", null)));
 
         return result;
     }
@@ -128,7 +122,7 @@ public class AuthRepository {
                         return;
                     }
 
-                    User user = querySnapshot.getDocuments().get(0).toObject(User.class);
+                    User user = UserMapper.INSTANCE.map(querySnapshot.getDocuments().get(0));
 
                     if (user != null && expectedUserType != null && !user.getUserType().equals(expectedUserType)) {
                         result.setValue(Resource.error("El correo " + email + " no pertenece a una cuenta de Maestra.", null));
@@ -183,6 +177,91 @@ public class AuthRepository {
                 .addOnFailureListener(e -> Log.e(TAG, "Error al actualizar FCM Token (Fire and Forget)", e));
     }
 
+    /**
+     * Sube el token de FCM solo si es distinto del último que se guardó en esta sesión.
+     */
+    public void syncFcmToken(String uid, PreferencesManager preferencesManager) {
+        FirebaseMessaging.getInstance().getToken()
+                .addOnSuccessListener(token -> uploadFcmTokenIfChanged(uid, token, preferencesManager))
+                .addOnFailureListener(e -> Log.e(TAG, "Error al obtener FCM Token", e));
+    }
+
+    public void uploadFcmTokenIfChanged(String uid, String token, PreferencesManager preferencesManager) {
+        if (uid == null || token == null) {
+            Log.e(TAG, "UID o Token nulos, no se puede actualizar FCM token.");
+            return;
+        }
+        if (preferencesManager.isFcmTokenUploaded(uid, token)) {
+            Log.d(TAG, "FCM Token sin cambios, no se sube");
+            return;
+        }
+
+        firestore.collection(Constants.COLLECTION_USERS)
+                .document(uid)
+                .update("fcmToken", token)
+                .addOnSuccessListener(aVoid -> {
+                    preferencesManager.saveFcmToken(uid, token);
+                    Log.d(TAG, "FCM Token actualizado en Firestore");
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Error al actualizar FCM Token", e));
+    }
+
+    /**
+     * Valida en segundo plano una sesión que ya se abrió desde las preferencias.
+     * Solo se considera inválida si el servidor lo confirma (cuenta borrada o deshabilitada,
+     * perfil inexistente o con otro rol); sin red se conserva la sesión guardada.
+     * Si es válida refresca los datos del perfil y el token de FCM.
+     */
+    public void validateSession(PreferencesManager preferencesManager, Runnable onInvalid) {
+        String uid = preferencesManager.getUserId();
+        FirebaseUser firebaseUser = firebaseAuth.getCurrentUser();
+        if (uid == null || firebaseUser == null || !uid.equals(firebaseUser.getUid())) {
+            Log.w(TAG, "Sesión guardada sin usuario de Firebase Auth");
+            onInvalid.run();
+            return;
+        }
+
+        firebaseUser.reload()
+                .addOnSuccessListener(aVoid -> validateProfile(uid, preferencesManager, onInvalid))
+                .addOnFailureListener(e -> {
+                    if (e instanceof FirebaseAuthInvalidUserException) {
+                        Log.w(TAG, "La cuenta ya no es válida", e);
+                        onInvalid.run();
+                    } else {
+                        Log.w(TAG, "No se pudo validar la sesión, se mantiene la guardada", e);
+                    }
+                });
+    }
+
+    private void validateProfile(String uid, PreferencesManager preferencesManager, Runnable onInvalid) {
+        firestore.collection(Constants.COLLECTION_USERS)
+                .document(uid)
+                .get(Source.SERVER)
+                .addOnSuccessListener(snapshot -> {
+                    User user = snapshot.exists() ? UserMapper.INSTANCE.map(snapshot) : null;
+                    if (user == null || user.getUserType() == null
+                            || !user.getUserType().equals(preferencesManager.getUserType())) {
+                        Log.w(TAG, "Perfil inexistente o con otro rol");
+                        onInvalid.run();
+                        return;
+                    }
+
+                    preferencesManager.saveUserName(user.getFullName());
+                    preferencesManager.saveUserEmail(user.getEmail());
+                    preferencesManager.saveUserPhoto(user.getPhotoUrl());
+                    syncFcmToken(uid, preferencesManager);
+                })
+                .addOnFailureListener(e -> {
+                    if (e instanceof FirebaseFirestoreException
+                            && ((FirebaseFirestoreException) e).getCode()
+                            == FirebaseFirestoreException.Code.PERMISSION_DENIED) {
+                        onInvalid.run();
+                    } else {
+                        Log.w(TAG, "No se pudo validar el perfil, se mantiene el guardado", e);
+                    }
+                });
+    }
+
     public void logout() {
         firebaseAuth.signOut();
     }
@@ -6,6 +6,7 @@ import androidx.lifecycle.MutableLiveData;
 import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.example.kinderconnect.data.remote.FirestoreProvider;
 import com.example.kinderconnect.utils.Resource;
 import java.util.HashMap;
 import java.util.Map;
@@ -22,7 +23,7 @@ public class BusTrackingRepository {
     private static final String TAG = "BusTrackingRepo"; // Tag para Logs
 
     public BusTrackingRepository() {
-        this.firestore = FirebaseFirestore.getInstance();
+        this.firestore = FirestoreProvider.get();
         this.statusDocRef = firestore.collection(COLLECTION_NAME).document(DOCUMENT_ID);
     }
 
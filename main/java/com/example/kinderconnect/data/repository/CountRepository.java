@@ -0,0 +1,99 @@
+package com.example.kinderconnect.data.repository;
+
+import android.os.SystemClock;
+import android.util.Log;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import com.example.kinderconnect.data.remote.FirestoreProvider;
+import com.example.kinderconnect.utils.Constants;
+import com.example.kinderconnect.utils.Resource;
+import com.google.firebase.firestore.AggregateSource;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conteos con consultas de agregación count() de Firestore: se cobra una sola lectura
+ * por cada 1000 documentos contados en lugar de descargar todos los documentos.
+ * Los resultados se guardan unos segundos en memoria para no repetir la consulta
+ * al rotar la pantalla o volver a una pestaña.
+ */
+public class CountRepository {
+    private static final String TAG = "CountRepository";
+
+    // Tiempo de vida de un conteo en memoria
+    private static final long CACHE_TTL_MS = 30_000;
+
+    private static final String KEY_STUDENTS_BY_TEACHER = "students/teacher/";
+
+    // Compartido entre instancias: cada ViewModel crea su propio repositorio
+    private static final Map<String, CachedCount> cache = new ConcurrentHashMap<>();
+
+    private final FirebaseFirestore firestore;
+
+    public CountRepository() {
+        this.firestore = FirestoreProvider.get();
+    }
+
+    /**
+     * Número de alumnos asignados a una maestra.
+     */
+    public LiveData<Resource<Long>> countStudentsByTeacher(String teacherId) {
+        return count(KEY_STUDENTS_BY_TEACHER + teacherId,
+                firestore.collection(Constants.COLLECTION_STUDENTS)
+                        .whereEqualTo("teacherId", teacherId));
+    }
+
+    // Se llama después de escribir para que el siguiente conteo vaya al servidor
+    public static void invalidateStudentCounts() {
+        invalidatePrefix(KEY_STUDENTS_BY_TEACHER);
+    }
+
+    private static void invalidatePrefix(String prefix) {
+        cache.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    private LiveData<Resource<Long>> count(String key, Query query) {
+        MutableLiveData<Resource<Long>> result = new MutableLiveData<>();
+
+        CachedCount cached = cache.get(key);
+        if (cached != null && !cached.isExpired()) {
+            result.setValue(Resource.success(cached.count));
+            return result;
+        }
+
+        result.setValue(Resource.loading(null));
+        query.count().get(AggregateSource.SERVER)
+                .addOnSuccessListener(snapshot -> {
+                    long count = snapshot.getCount();
+                    cache.put(key, new CachedCount(count));
+                    result.setValue(Resource.success(count));
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error al contar " + key, e);
+                    // Sin red devolvemos el último valor conocido aunque haya expirado
+                    CachedCount stale = cache.get(key);
+                    result.setValue(stale != null
+                            ? Resource.success(stale.count)
+                            : Resource.error(e.getMessage(), null));
+                });
+
+        return result;
+    }
+
+    private static class CachedCount {
+        final long count;
+        final long fetchedAt;
+
+        CachedCount(long count) {
+            this.count = count;
+            this.fetchedAt = SystemClock.elapsedRealtime();
+        }
+
+        boolean isExpired() {
+            return SystemClock.elapsedRealtime() - fetchedAt > CACHE_TTL_MS;
+        }
+    }
+}
@@ -1,101 +1,284 @@
 package com.example.kinderconnect.data.repository;
 
+import android.util.Log;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.Source;
+import com.google.firebase.firestore.WriteBatch;
+import com.example.kinderconnect.KinderConnectApp;
+import com.example.kinderconnect.data.local.db.AppDatabase;
+import com.example.kinderconnect.data.local.db.GradeDao;
+import com.example.kinderconnect.data.local.db.PendingMutationDao;
+import com.example.kinderconnect.data.local.entity.GradeEntity;
+import com.example.kinderconnect.data.local.entity.PendingMutation;
+import com.example.kinderconnect.data.mapper.GradeMapper;
 import com.example.kinderconnect.data.model.Grade;
+import com.example.kinderconnect.data.remote.CacheFirstDocument;
+import com.example.kinderconnect.data.remote.FirestoreProvider;
+import com.example.kinderconnect.data.remote.FirestoreQueryRegistry;
 import com.example.kinderconnect.utils.Constants;
+import com.example.kinderconnect.utils.AppExecutors;
 import com.example.kinderconnect.utils.Resource;
+import com.example.kinderconnect.workers.SyncWorker;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class GradeRepository {
+    private static final String TAG = "GradeRepository";
+    private static final int MIGRATION_BATCH_SIZE = 450;
     private final FirebaseFirestore firestore;
+    private final AppDatabase database;
+    private final GradeDao gradeDao;
+    private final PendingMutationDao pendingMutationDao;
 
     public GradeRepository() {
-        this.firestore = FirebaseFirestore.getInstance();
+        this.firestore = FirestoreProvider.get();
+        this.database = AppDatabase.getInstance(KinderConnectApp.getInstance());
+        this.gradeDao = database.gradeDao();
+        this.pendingMutationDao = database.pendingMutationDao();
     }
 
+    /**
+     * Guarda la evaluación en Room y en el outbox; SyncWorker la sube a Firestore
+     * con set() sobre el ID determinista {studentId}_p{period}, sin leer antes.
+     */
     public LiveData<Resource<String>> saveGrade(Grade grade) {
         MutableLiveData<Resource<String>> result = new MutableLiveData<>();
         result.setValue(Resource.loading(null));
 
         grade.setUpdatedAt(new Date());
+        String gradeId = buildGradeId(grade.getStudentId(), grade.getPeriod());
+        grade.setGradeId(gradeId);
 
-        // Verificar si ya existe una evaluación para ese estudiante y periodo
+        AppExecutors.getInstance().diskIO().execute(() -> {
+            try {
+                database.runInTransaction(() -> {
+                    gradeDao.insert(GradeEntity.fromModel(grade, true));
+                    pendingMutationDao.enqueue(PendingMutation.set(Constants.COLLECTION_GRADES, gradeId));
+                });
+                SyncWorker.enqueue(KinderConnectApp.getInstance());
+                result.postValue(Resource.success(gradeId));
+            } catch (Exception e) {
+                Log.e(TAG, "Error al guardar calificación local", e);
+                result.postValue(Resource.error("Error al guardar: " + e.getMessage(), null));
+            }
+        });
+
+        return result;
+    }
+
+    // ID determinista de la evaluación de un alumno en un periodo
+    public static String buildGradeId(String studentId, int period) {
+        return studentId + "_p" + period;
+    }
+
+    /**
+     * Migración única: junta las evaluaciones duplicadas (creadas con IDs aleatorios) de los
+     * alumnos de una maestra en el documento {studentId}_p{period}. Se queda la más reciente
+     * por updatedAt y borra las demás. Es idempotente. Devuelve cuántos documentos se borraron.
+     */
+    public LiveData<Resource<Integer>> migrateLegacyGrades(String teacherId) {
+        MutableLiveData<Resource<Integer>> result = new MutableLiveData<>();
+        result.setValue(Resource.loading(null));
+
+        // Solo del servidor: con datos de la caché se podría borrar la copia buena
         firestore.collection(Constants.COLLECTION_GRADES)
-                .whereEqualTo("studentId", grade.getStudentId())
-                .whereEqualTo("period", grade.getPeriod())
-                .get()
+                .whereEqualTo("teacherId", teacherId)
+                .get(Source.SERVER)
                 .addOnSuccessListener(querySnapshot -> {
-                    if (!querySnapshot.isEmpty()) {
-                        // Actualizar evaluación existente
-                        String gradeId = querySnapshot.getDocuments().get(0).getId();
-                        updateExistingGrade(gradeId, grade, result);
-                    } else {
-                        // Crear nueva evaluación
-                        createNewGrade(grade, result);
+                    // Evaluación más reciente y duplicados a borrar, por ID determinista
+                    Map<String, DocumentSnapshot> latest = new HashMap<>();
+                    Map<String, List<DocumentReference>> toDelete = new HashMap<>();
+
+                    for (DocumentSnapshot doc : querySnapshot.getDocuments()) {
+                        Grade grade = GradeMapper.INSTANCE.map(doc);
+                        if (grade == null || grade.getStudentId() == null) continue;
+                        String targetId = buildGradeId(grade.getStudentId(), grade.getPeriod());
+
+                        DocumentSnapshot current = latest.get(targetId);
+                        DocumentSnapshot loser = doc;
+                        if (current == null || isNewer(doc, current)) {
+                            latest.put(targetId, doc);
+                            loser = current;
+                        }
+                        if (loser != null && !loser.getId().equals(targetId)) {
+                            deletesFor(toDelete, targetId).add(loser.getReference());
+                        }
+                    }
+
+                    // Si el documento determinista no vino en la consulta (p. ej. lo guardó otra
+                    // maestra) se lee del servidor antes de decidir si se sobrescribe
+                    List<Task<DocumentSnapshot>> targetReads = new ArrayList<>();
+                    for (Map.Entry<String, DocumentSnapshot> entry : latest.entrySet()) {
+                        if (!entry.getValue().getId().equals(entry.getKey())) {
+                            targetReads.add(firestore.collection(Constants.COLLECTION_GRADES)
+                                    .document(entry.getKey()).get(Source.SERVER));
+                        }
                     }
+                    Tasks.whenAllSuccess(targetReads)
+                            .onSuccessTask(targets -> commitGradeMigration(latest, toDelete, targets))
+                            .addOnSuccessListener(total -> {
+                                Log.d(TAG, "Migración de calificaciones completa. Borrados: " + total);
+                                result.setValue(Resource.success(total));
+                            })
+                            .addOnFailureListener(e -> result.setValue(Resource.error(
+                                    "Error al migrar calificaciones: " + e.getMessage(), null)));
                 })
                 .addOnFailureListener(e -> result.setValue(Resource.error(
-                        "Error al verificar calificaciones: " + e.getMessage(), null)));
+                        "Error al migrar calificaciones: " + e.getMessage(), null)));
 
         return result;
     }
 
-    private void updateExistingGrade(String gradeId, Grade grade,
-                                     MutableLiveData<Resource<String>> result) {
-        firestore.collection(Constants.COLLECTION_GRADES)
-                .document(gradeId)
-                .set(grade)
-                .addOnSuccessListener(aVoid -> result.setValue(Resource.success(gradeId)))
-                .addOnFailureListener(e -> result.setValue(Resource.error(
-                        "Error al actualizar: " + e.getMessage(), null)));
-    }
+    // Devuelve cuántos documentos duplicados se borraron
+    private Task<Integer> commitGradeMigration(Map<String, DocumentSnapshot> latest,
+                                               Map<String, List<DocumentReference>> toDelete,
+                                               List<Object> targets) {
+        Map<String, DocumentSnapshot> remoteTargets = new HashMap<>();
+        for (Object target : targets) {
+            DocumentSnapshot doc = (DocumentSnapshot) target;
+            if (doc.exists()) remoteTargets.put(doc.getId(), doc);
+        }
 
-    private void createNewGrade(Grade grade, MutableLiveData<Resource<String>> result) {
-        firestore.collection(Constants.COLLECTION_GRADES)
-                .add(grade)
-                .addOnSuccessListener(documentReference ->
-                        result.setValue(Resource.success(documentReference.getId())))
-                .addOnFailureListener(e -> result.setValue(Resource.error(
-                        "Error al guardar: " + e.getMessage(), null)));
+        // La copia de cada evaluación va en el mismo batch que el borrado de sus
+        // duplicados, para que un fallo nunca deje borrado un dato sin copiar
+        List<WriteBatch> batches = new ArrayList<>();
+        WriteBatch batch = firestore.batch();
+        int operations = 0;
+        int deleted = 0;
+
+        for (Map.Entry<String, DocumentSnapshot> entry : latest.entrySet()) {
+            String targetId = entry.getKey();
+            DocumentSnapshot doc = entry.getValue();
+            List<DocumentReference> deletes = deletesFor(toDelete, targetId);
+            boolean copy = !doc.getId().equals(targetId);
+            if (copy) {
+                deletes.add(doc.getReference());
+                DocumentSnapshot target = remoteTargets.get(targetId);
+                // El documento determinista ya existe y es más nuevo: solo se borran los viejos
+                if (target != null && !isNewer(doc, target)) copy = false;
+            }
+            if (deletes.isEmpty()) continue; // Ya está migrada
+
+            int unitOperations = deletes.size() + (copy ? 1 : 0);
+            if (operations > 0 && operations + unitOperations > MIGRATION_BATCH_SIZE) {
+                batches.add(batch);
+                batch = firestore.batch();
+                operations = 0;
+            }
+            if (copy) {
+                batch.set(firestore.collection(Constants.COLLECTION_GRADES).document(targetId),
+                        doc.getData());
+            }
+            for (DocumentReference ref : deletes) {
+                batch.delete(ref);
+            }
+            operations += unitOperations;
+            deleted += deletes.size();
+        }
+        if (operations > 0) batches.add(batch);
+
+        // Un batch tras otro: si uno falla, los siguientes no se envían
+        Task<Void> commits = Tasks.forResult(null);
+        for (WriteBatch b : batches) {
+            commits = commits.onSuccessTask(aVoid -> b.commit());
+        }
+        int total = deleted;
+        return commits.onSuccessTask(aVoid -> Tasks.forResult(total));
     }
 
-    public LiveData<Resource<List<Grade>>> getGradesByStudent(String studentId) {
-        MutableLiveData<Resource<List<Grade>>> result = new MutableLiveData<>();
-        result.setValue(Resource.loading(null));
+    private static List<DocumentReference> deletesFor(Map<String, List<DocumentReference>> toDelete,
+                                                      String targetId) {
+        List<DocumentReference> deletes = toDelete.get(targetId);
+        if (deletes == null) {
+            deletes = new ArrayList<>();
+            toDelete.put(targetId, deletes);
+        }
+        return deletes;
+    }
 
-        firestore.collection(Constants.COLLECTION_GRADES)
-                .whereEqualTo("studentId", studentId)
-                .orderBy("period", Query.Direction.ASCENDING)
-                .addSnapshotListener((value, error) -> {
-                    if (error != null) {
-                        result.setValue(Resource.error("Error: " + error.getMessage(), null));
-                        return;
-                    }
+    private static boolean isNewer(DocumentSnapshot a, DocumentSnapshot b) {
+        Date dateA = a.getDate("updatedAt");
+        Date dateB = b.getDate("updatedAt");
+        if (dateA == null) return false;
+        if (dateB == null) return true;
+        return dateA.after(dateB);
+    }
 
-                    if (value != null) {
-                        List<Grade> grades = value.toObjects(Grade.class);
-                        result.setValue(Resource.success(grades));
+    public LiveData<Resource<List<Grade>>> getGradesByStudent(String studentId) {
+        LiveData<Resource<List<Grade>>> remote = FirestoreQueryRegistry.getInstance().query(
+                firestore.collection(Constants.COLLECTION_GRADES)
+                        .whereEqualTo("studentId", studentId)
+                        .orderBy("period", Query.Direction.ASCENDING),
+                Grade.class,
+                value -> {
+                    List<Grade> grades = GradeMapper.INSTANCE.mapAll(value);
+                    List<GradeEntity> entities = new ArrayList<>();
+                    for (Grade grade : grades) {
+                        entities.add(GradeEntity.fromModel(grade, false));
                     }
+                    boolean fromCache = value.getMetadata().isFromCache();
+                    AppExecutors.getInstance().diskIO().execute(() -> {
+                        if (fromCache) gradeDao.insertRemote(entities);
+                        else gradeDao.replaceByStudent(studentId, entities);
+                    });
+                    return grades;
                 });
-
-        return result;
+        return OfflineFirstResource.create(gradeDao.observeByStudent(studentId),
+                GradeEntity::toModel, remote);
     }
 
+    /**
+     * Primero el espejo de Room, que también tiene las evaluaciones guardadas sin red.
+     * Si la fila local está pendiente de subir es la versión más nueva y no se consulta
+     * Firestore. Si no, se lee el documento por ID (cache-first) y, si aún no existe
+     * (datos sin migrar), se usa la consulta anterior.
+     */
     public LiveData<Resource<Grade>> getGradeByStudentAndPeriod(String studentId, int period) {
         MutableLiveData<Resource<Grade>> result = new MutableLiveData<>();
         result.setValue(Resource.loading(null));
+        String gradeId = buildGradeId(studentId, period);
+
+        AppExecutors.getInstance().diskIO().execute(() -> {
+            GradeEntity local = gradeDao.getById(gradeId);
+            if (local == null) local = gradeDao.findByStudentAndPeriod(studentId, period);
+            GradeEntity cached = local;
+
+            // En el hilo principal para que la fila local se emita antes que Firestore
+            AppExecutors.getInstance().mainThread().execute(() -> {
+                if (cached != null) {
+                    result.setValue(Resource.success(cached.toModel()));
+                    if (cached.isPendingSync()) return;
+                }
+                CacheFirstDocument.get(firestore.collection(Constants.COLLECTION_GRADES)
+                                .document(gradeId),
+                        GradeMapper.INSTANCE::map,
+                        result,
+                        () -> getLegacyGrade(studentId, period, result));
+            });
+        });
 
+        return result;
+    }
+
+    private void getLegacyGrade(String studentId, int period, MutableLiveData<Resource<Grade>> result) {
         firestore.collection(Constants.COLLECTION_GRADES)
                 .whereEqualTo("studentId", studentId)
                 .whereEqualTo("period", period)
+                .limit(1)
                 .get()
                 .addOnSuccessListener(querySnapshot -> {
                     if (!querySnapshot.isEmpty()) {
-                        Grade grade = querySnapshot.getDocuments().get(0).toObject(Grade.class);
+                        Grade grade = GradeMapper.INSTANCE.map(querySnapshot.getDocuments().get(0));
                         result.setValue(Resource.success(grade));
                     } else {
                         result.setValue(Resource.success(null));
@@ -103,7 +286,5 @@ public class GradeRepository {
                 })
                 .addOnFailureListener(e -> result.setValue(Resource.error(
                         "Error: " + e.getMessage(), null)));
-
-        return result;
     }
 }
@@ -6,6 +6,8 @@ import androidx.lifecycle.MutableLiveData;
 import com.example.kinderconnect.data.model.Group;
 import com.example.kinderconnect.data.model.Student; // <-- AÑADIDO
 import com.example.kinderconnect.data.model.User; // <-- AÑADIDO
+import com.example.kinderconnect.data.remote.FirestoreProvider;
+import com.example.kinderconnect.data.remote.FirestoreQueryRegistry;
 import com.example.kinderconnect.utils.Constants;
 import com.example.kinderconnect.utils.Resource;
 import com.google.firebase.firestore.FirebaseFirestore;
@@ -18,7 +20,7 @@ public class GroupRepository {
     private static final String TAG = "GroupRepository"; // <-- AÑADIDO
 
     public GroupRepository() {
-        this.firestore = FirebaseFirestore.getInstance();
+        this.firestore = FirestoreProvider.get();
         this.authRepository = new AuthRepository(); // <-- AÑADIDO
     }
 
@@ -26,29 +28,20 @@ public class GroupRepository {
      * Obtiene el grupo que pertenece a una maestra.
      */
     public LiveData<Resource<Group>> getGroupByTeacher(String teacherId) {
-        MutableLiveData<Resource<Group>> result = new MutableLiveData<>();
-        result.setValue(Resource.loading(null));
-
-        firestore.collection(Constants.COLLECTION_GROUPS)
-                .whereEqualTo("teacherId", teacherId)
-                .limit(1) // Una maestra solo debe tener un grupo
-                .addSnapshotListener((value, error) -> {
-                    if (error != null) {
-                        result.setValue(Resource.error(error.getMessage(), null));
-                        return;
-                    }
-                    if (value != null && !value.isEmpty()) {
-                        Group group = value.getDocuments().get(0).toObject(Group.class);
-                        if (group != null) {
-                            group.setGroupId(value.getDocuments().get(0).getId());
-                            result.setValue(Resource.success(group));
-                        }
-                    } else {
-                        // Es normal que no tenga grupo, devolvemos success con null
-                        result.setValue(Resource.success(null));
+        return FirestoreQueryRegistry.getInstance().query(
+                firestore.collection(Constants.COLLECTION_GROUPS)
+                        .whereEqualTo("teacherId", teacherId)
+                        .limit(1), // Una maestra solo debe tener un grupo
+                Group.class,
+                value -> {
+                    // Es normal que no tenga grupo, devolvemos success con null
+                    if (value.isEmpty()) return null;
+                    Group group = value.getDocuments().get(0).toObject(Group.class);
+                    if (group != null) {
+                        group.setGroupId(value.getDocuments().get(0).getId());
                     }
+                    return group;
                 });
-        return result;
     }
 
     /**
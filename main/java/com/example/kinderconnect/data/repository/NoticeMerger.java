@@ -0,0 +1,40 @@
+package com.example.kinderconnect.data.repository;
+
+import com.example.kinderconnect.data.model.Notice;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mezcla de los avisos de la escuela y del grupo que ve un padre.
+ * Está aparte de NoticeRepository para poder medirla sin Firebase.
+ */
+public final class NoticeMerger {
+
+    private NoticeMerger() {
+    }
+
+    /**
+     * Une ambas fuentes por ID (si hay duplicados, el del grupo "gana") y ordena
+     * por fecha de publicación, el más nuevo primero.
+     */
+    public static List<Notice> merge(Map<String, Notice> schoolNotices, Map<String, Notice> groupNotices) {
+        HashMap<String, Notice> allNoticesMap = new HashMap<>(
+                (schoolNotices.size() + groupNotices.size()) * 2);
+        allNoticesMap.putAll(schoolNotices);
+        allNoticesMap.putAll(groupNotices);
+
+        ArrayList<Notice> combinedList = new ArrayList<>(allNoticesMap.values());
+
+        // Ordenar por fecha, el más nuevo primero
+        Collections.sort(combinedList, (o1, o2) -> {
+            if (o1.getPublishedAt() == null || o2.getPublishedAt() == null) return 0;
+            return o2.getPublishedAt().compareTo(o1.getPublishedAt());
+        });
+
+        return combinedList;
+    }
+}
@@ -10,25 +10,58 @@ import androidx.lifecycle.MediatorLiveData;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Executor;
 // --- FIN DE IMPORTACIONES AÑADIDAS ---
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
 import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.Source;
+import com.google.firebase.firestore.WriteBatch;
 import com.google.firebase.storage.FirebaseStorage;
 import com.google.firebase.storage.StorageReference;
+import com.example.kinderconnect.KinderConnectApp;
+import com.example.kinderconnect.data.local.db.AppDatabase;
+import com.example.kinderconnect.data.local.db.NoticeDao;
+import com.example.kinderconnect.data.local.entity.NoticeEntity;
+import com.example.kinderconnect.data.mapper.NoticeMapper;
 import com.example.kinderconnect.data.model.Notice;
+import com.example.kinderconnect.data.remote.CacheFirstDocument;
+import com.example.kinderconnect.data.remote.FirestoreProvider;
+import com.example.kinderconnect.data.remote.FirestoreQueryRegistry;
 import com.example.kinderconnect.utils.Constants;
+import com.example.kinderconnect.utils.AppExecutors;
 import com.example.kinderconnect.utils.Resource;
 import java.util.List;
 
 public class NoticeRepository {
     private final FirebaseFirestore firestore;
     private final FirebaseStorage storage;
+    private final NoticeDao noticeDao;
     private static final String TAG = "NoticeRepository";
+    private static final int MAX_BATCH_SIZE = 450;
+    // Veces que se recalcula el contador si cambia mientras se cuenta
+    private static final int COUNTER_INIT_ATTEMPTS = 3;
+
+    // Avisos marcados como leídos en este proceso ("userId/noticeId"), evita dobles conteos
+    private static final Set<String> markedInSession = Collections.synchronizedSet(new HashSet<>());
+    // Usuarios cuyo contador de no leídos ya se está inicializando en este proceso
+    private static final Set<String> counterInitStarted = Collections.synchronizedSet(new HashSet<>());
+    private final Random random = new Random();
 
     public NoticeRepository() {
-        this.firestore = FirebaseFirestore.getInstance();
+        this.firestore = FirestoreProvider.get();
         this.storage = FirebaseStorage.getInstance();
+        this.noticeDao = AppDatabase.getInstance(KinderConnectApp.getInstance()).noticeDao();
     }
 
     public LiveData<Resource<String>> publishNotice(Notice notice, Uri imageUri) {
@@ -70,16 +103,208 @@ public class NoticeRepository {
                         "Error al subir imagen: " + e.getMessage(), null)));
     }
 
+    /**
+     * Crea el aviso y, en los mismos batches, incrementa el contador de no leídos
+     * (users/{id}/counters/notices) de cada padre que lo va a recibir: los padres del grupo,
+     * o todos los padres si el aviso es para toda la escuela.
+     */
     private void saveNoticeToFirestore(Notice notice,
                                        MutableLiveData<Resource<String>> result) {
-        firestore.collection(Constants.COLLECTION_NOTICES)
-                .add(notice) // .add() crea un ID nuevo
-                .addOnSuccessListener(documentReference ->
-                        result.setValue(Resource.success(documentReference.getId())))
+        getRecipientIds(notice)
+                .addOnSuccessListener(parentIds -> commitNoticeWithCounters(notice, parentIds, result))
+                .addOnFailureListener(e -> {
+                    // Sin destinatarios el aviso se publica igual; solo no sube el contador
+                    Log.e(TAG, "No se pudieron obtener destinatarios del aviso", e);
+                    commitNoticeWithCounters(notice, Collections.emptySet(), result);
+                });
+    }
+
+    // Padres que reciben el aviso: los del grupo, o todos si es para toda la escuela
+    private Task<Set<String>> getRecipientIds(Notice notice) {
+        Query recipientsQuery = Constants.SCOPE_SCHOOL.equals(notice.getScope())
+                ? firestore.collection(Constants.COLLECTION_USERS)
+                        .whereEqualTo("userType", Constants.USER_TYPE_PARENT)
+                : firestore.collection(Constants.COLLECTION_STUDENTS)
+                        .whereEqualTo("groupName", notice.getGroupName());
+        String parentField = Constants.SCOPE_SCHOOL.equals(notice.getScope()) ? null : "parentId";
+
+        return recipientsQuery.get().continueWith(task -> {
+            Set<String> parentIds = new HashSet<>();
+            for (DocumentSnapshot doc : task.getResult().getDocuments()) {
+                String parentId = parentField == null ? doc.getId() : doc.getString(parentField);
+                if (parentId != null) parentIds.add(parentId);
+            }
+            return parentIds;
+        });
+    }
+
+    private void commitNoticeWithCounters(Notice notice, Set<String> parentIds,
+                                          MutableLiveData<Resource<String>> result) {
+        DocumentReference noticeRef = firestore.collection(Constants.COLLECTION_NOTICES).document();
+
+        List<WriteBatch> batches = new ArrayList<>();
+        WriteBatch batch = firestore.batch();
+        batch.set(noticeRef, notice);
+        int operations = 1;
+
+        for (String parentId : parentIds) {
+            if (operations == MAX_BATCH_SIZE) {
+                batches.add(batch);
+                batch = firestore.batch();
+                operations = 0;
+            }
+            batch.set(unreadCounterRef(parentId), unreadDelta(1), SetOptions.merge());
+            operations++;
+        }
+        batches.add(batch);
+
+        // El primer batch lleva el aviso; los demás (solo contadores) se confirman después
+        batches.get(0).commit()
+                .addOnSuccessListener(aVoid -> commitAll(batches.subList(1, batches.size()))
+                        .addOnSuccessListener(done -> result.setValue(Resource.success(noticeRef.getId())))
+                        .addOnFailureListener(e -> {
+                            Log.e(TAG, "Error al actualizar contadores de no leídos", e);
+                            // El aviso ya existe: se devuelve su id para no publicarlo dos veces
+                            result.setValue(Resource.error("Aviso publicado, pero no se actualizaron "
+                                    + "los contadores de no leídos: " + e.getMessage(), noticeRef.getId()));
+                        }))
                 .addOnFailureListener(e -> result.setValue(Resource.error(
                         "Error al publicar aviso: " + e.getMessage(), null)));
     }
 
+    // Confirma los batches a la vez; falla si alguno falla
+    private static Task<Void> commitAll(List<WriteBatch> batches) {
+        List<Task<Void>> commits = new ArrayList<>();
+        for (WriteBatch b : batches) {
+            commits.add(b.commit());
+        }
+        return Tasks.whenAll(commits);
+    }
+
+    // Cada cambio del contador sube también version, para que initUnreadCounter lo note
+    private static Map<String, Object> unreadDelta(long delta) {
+        Map<String, Object> update = new HashMap<>();
+        update.put(Constants.FIELD_UNREAD, FieldValue.increment(delta));
+        update.put(Constants.FIELD_VERSION, FieldValue.increment(1));
+        return update;
+    }
+
+    private static long counterVersion(DocumentSnapshot counter) {
+        Long version = counter.getLong(Constants.FIELD_VERSION);
+        return version != null ? version : 0L;
+    }
+
+    private DocumentReference unreadCounterRef(String userId) {
+        return firestore.collection(Constants.COLLECTION_USERS).document(userId)
+                .collection(Constants.COLLECTION_COUNTERS).document(Constants.COUNTER_NOTICES);
+    }
+
+    /**
+     * Número de avisos sin leer del usuario: un solo documento, sin importar cuántos avisos haya.
+     * Si el contador todavía no se inicializó (no tiene initializedAt) se calcula una vez.
+     */
+    public LiveData<Resource<Long>> getUnreadNoticeCount(String userId) {
+        return FirestoreQueryRegistry.getInstance().document(
+                unreadCounterRef(userId),
+                Long.class,
+                snapshot -> {
+                    if (!snapshot.getMetadata().isFromCache()
+                            && !snapshot.contains(Constants.FIELD_INITIALIZED_AT)
+                            && counterInitStarted.add(userId)) {
+                        initUnreadCounter(userId);
+                    }
+                    Long unread = snapshot.exists() ? snapshot.getLong(Constants.FIELD_UNREAD) : null;
+                    return unread != null ? unread : 0L;
+                });
+    }
+
+    /**
+     * Inicialización única del contador con el número real de avisos sin leer del padre
+     * (avisos de los grupos de sus hijos y de toda la escuela, menos los que ya leyó).
+     * Los avisos publicados antes del contador nunca lo incrementaron, así que sin esto
+     * quedaría corto o negativo.
+     * Las consultas no pueden ir dentro de la transacción, así que se lee la versión del
+     * contador antes de contar y la transacción solo escribe si sigue igual: publicar, leer
+     * o borrar un aviso suben la versión. Si cambió se vuelve a contar.
+     */
+    private void initUnreadCounter(String userId) {
+        initUnreadCounter(userId, COUNTER_INIT_ATTEMPTS);
+    }
+
+    private void initUnreadCounter(String userId, int attemptsLeft) {
+        DocumentReference counterRef = unreadCounterRef(userId);
+
+        counterRef.get(Source.SERVER)
+                .onSuccessTask(before -> countUnreadNotices(userId).onSuccessTask(unread ->
+                        firestore.runTransaction(transaction -> {
+                            DocumentSnapshot current = transaction.get(counterRef);
+                            if (current.contains(Constants.FIELD_INITIALIZED_AT)) return true;
+                            if (counterVersion(current) != counterVersion(before)) return false;
+
+                            Map<String, Object> counter = new HashMap<>();
+                            counter.put(Constants.FIELD_UNREAD, unread);
+                            counter.put(Constants.FIELD_VERSION, FieldValue.increment(1));
+                            counter.put(Constants.FIELD_INITIALIZED_AT, FieldValue.serverTimestamp());
+                            transaction.set(counterRef, counter, SetOptions.merge());
+                            return true;
+                        })))
+                .addOnSuccessListener(initialized -> {
+                    if (initialized) {
+                        Log.d(TAG, "Contador de no leídos inicializado");
+                    } else if (attemptsLeft > 1) {
+                        initUnreadCounter(userId, attemptsLeft - 1);
+                    } else {
+                        // Se intentará de nuevo con la siguiente lectura del contador
+                        counterInitStarted.remove(userId);
+                        Log.w(TAG, "El contador de no leídos cambió mientras se calculaba");
+                    }
+                })
+                .addOnFailureListener(e -> {
+                    counterInitStarted.remove(userId);
+                    Log.e(TAG, "Error al inicializar el contador de no leídos", e);
+                });
+    }
+
+    // Avisos que recibe el padre y todavía no leyó, leídos del servidor
+    private Task<Integer> countUnreadNotices(String userId) {
+        return firestore.collection(Constants.COLLECTION_STUDENTS)
+                .whereEqualTo("parentId", userId)
+                .get(Source.SERVER)
+                .onSuccessTask(students -> {
+                    Set<String> groups = new HashSet<>();
+                    for (DocumentSnapshot doc : students.getDocuments()) {
+                        String groupName = doc.getString("groupName");
+                        if (groupName != null) groups.add(groupName);
+                    }
+                    List<Task<QuerySnapshot>> reads = new ArrayList<>();
+                    // El primero son los avisos ya leídos; el resto, los avisos que recibe
+                    reads.add(readNoticesQuery(userId).get(Source.SERVER));
+                    reads.add(firestore.collection(Constants.COLLECTION_NOTICES)
+                            .whereEqualTo("scope", Constants.SCOPE_SCHOOL).get(Source.SERVER));
+                    for (String groupName : groups) {
+                        reads.add(firestore.collection(Constants.COLLECTION_NOTICES)
+                                .whereEqualTo("groupName", groupName).get(Source.SERVER));
+                    }
+                    return Tasks.<QuerySnapshot>whenAllSuccess(reads);
+                })
+                .continueWith(task -> {
+                    List<QuerySnapshot> snapshots = task.getResult();
+                    Set<String> read = new HashSet<>();
+                    for (DocumentSnapshot doc : snapshots.get(0).getDocuments()) {
+                        read.add(doc.getId());
+                    }
+                    Set<String> unread = new HashSet<>();
+                    for (int i = 1; i < snapshots.size(); i++) {
+                        for (Notice notice : NoticeMapper.INSTANCE.mapAll(snapshots.get(i))) {
+                            if (!read.contains(notice.getNoticeId()) && !notice.isReadByUser(userId)) {
+                                unread.add(notice.getNoticeId());
+                            }
+                        }
+                    }
+                    return unread.size();
+                });
+    }
+
     // --- INICIO DE LÓGICA DE EDICIÓN AÑADIDA ---
     // Método para actualizar un documento existente
     private void updateNoticeInFirestore(Notice notice, MutableLiveData<Resource<String>> result) {
@@ -130,7 +355,9 @@ public class NoticeRepository {
         MediatorLiveData<Resource<List<Notice>>> result = new MediatorLiveData<>();
         result.setValue(Resource.loading(null));
 
-        // Listas para guardar los resultados de cada query
+        // Listas para guardar los resultados de cada query.
+        // Solo se tocan desde snapshotIO, donde se hace la mezcla y el ordenamiento.
+        Executor executor = AppExecutors.getInstance().snapshotIO();
         HashMap<String, Notice> groupNotices = new HashMap<>();
         HashMap<String, Notice> schoolNotices = new HashMap<>();
 
@@ -141,33 +368,24 @@ public class NoticeRepository {
         LiveData<Resource<List<Notice>>> schoolSource = getNoticesByScope(Constants.SCOPE_SCHOOL);
 
         // Función helper para combinar y emitir
-        Runnable combineResults = () -> {
-            HashMap<String, Notice> allNoticesMap = new HashMap<>();
-            allNoticesMap.putAll(schoolNotices);
-            allNoticesMap.putAll(groupNotices); // Si hay duplicados, el del grupo "gana"
-
-            ArrayList<Notice> combinedList = new ArrayList<>(allNoticesMap.values());
-
-            // Ordenar por fecha, el más nuevo primero
-            Collections.sort(combinedList, (o1, o2) -> {
-                if (o1.getPublishedAt() == null || o2.getPublishedAt() == null) return 0;
-                return o2.getPublishedAt().compareTo(o1.getPublishedAt());
-            });
-
-            result.setValue(Resource.success(combinedList));
-        };
+        Runnable combineResults = () ->
+                result.postValue(Resource.success(NoticeMerger.merge(schoolNotices, groupNotices)));
 
         // Observar la Fuente 1 (Grupo)
         result.addSource(groupSource, resource -> {
             if (resource != null) {
                 if (resource.getStatus() == Resource.Status.SUCCESS && resource.getData() != null) {
-                    groupNotices.clear();
-                    for (Notice n : resource.getData()) {
-                        groupNotices.put(n.getNoticeId(), n);
-                    }
-                    combineResults.run();
+                    List<Notice> data = resource.getData();
+                    executor.execute(() -> {
+                        groupNotices.clear();
+                        for (Notice n : data) {
+                            groupNotices.put(n.getNoticeId(), n);
+                        }
+                        combineResults.run();
+                    });
                 } else if (resource.getStatus() == Resource.Status.ERROR) {
-                    result.setValue(Resource.error(resource.getMessage(), null));
+                    // Por el mismo executor para no adelantarse a una mezcla pendiente
+                    executor.execute(() -> result.postValue(Resource.error(resource.getMessage(), null)));
                 }
             }
         });
@@ -176,13 +394,16 @@ public class NoticeRepository {
         result.addSource(schoolSource, resource -> {
             if (resource != null) {
                 if (resource.getStatus() == Resource.Status.SUCCESS && resource.getData() != null) {
-                    schoolNotices.clear();
-                    for (Notice n : resource.getData()) {
-                        schoolNotices.put(n.getNoticeId(), n);
-                    }
-                    combineResults.run();
+                    List<Notice> data = resource.getData();
+                    executor.execute(() -> {
+                        schoolNotices.clear();
+                        for (Notice n : data) {
+                            schoolNotices.put(n.getNoticeId(), n);
+                        }
+                        combineResults.run();
+                    });
                 } else if (resource.getStatus() == Resource.Status.ERROR) {
-                    result.setValue(Resource.error(resource.getMessage(), null));
+                    executor.execute(() -> result.postValue(Resource.error(resource.getMessage(), null)));
                 }
             }
         });
@@ -195,113 +416,229 @@ public class NoticeRepository {
      * (Usado por la Maestra y por 'getNoticesForParent')
      */
     public LiveData<Resource<List<Notice>>> getNoticesByGroup(String groupName) {
-        MutableLiveData<Resource<List<Notice>>> result = new MutableLiveData<>();
-        result.setValue(Resource.loading(null));
-
-        firestore.collection(Constants.COLLECTION_NOTICES)
-                .whereEqualTo("groupName", groupName)
-                .orderBy("publishedAt", Query.Direction.DESCENDING)
-                .addSnapshotListener((value, error) -> {
-                    if (error != null) {
-                        result.setValue(Resource.error("Error: " + error.getMessage(), null));
-                        return;
-                    }
-
-                    if (value != null) {
-                        List<Notice> notices = value.toObjects(Notice.class);
-                        // Asignar IDs
-                        for(int i=0; i < value.getDocuments().size(); i++){
-                            notices.get(i).setNoticeId(value.getDocuments().get(i).getId());
-                        }
-                        result.setValue(Resource.success(notices));
-                    }
+        LiveData<Resource<List<Notice>>> remote = FirestoreQueryRegistry.getInstance().query(
+                firestore.collection(Constants.COLLECTION_NOTICES)
+                        .whereEqualTo("groupName", groupName)
+                        .orderBy("publishedAt", Query.Direction.DESCENDING),
+                Notice.class,
+                value -> {
+                    List<Notice> notices = toNotices(value);
+                    List<NoticeEntity> entities = toEntities(notices);
+                    boolean fromCache = value.getMetadata().isFromCache();
+                    AppExecutors.getInstance().diskIO().execute(() -> {
+                        if (fromCache) noticeDao.insertAll(entities);
+                        else noticeDao.replaceByGroup(groupName, entities);
+                    });
+                    return notices;
                 });
-
-        return result;
+        return OfflineFirstResource.create(noticeDao.observeByGroup(groupName), NoticeEntity::toModel, remote);
     }
 
     /**
      * MÉTODO NUEVO: Trae avisos por 'scope' (para los de "SCHOOL")
      */
     public LiveData<Resource<List<Notice>>> getNoticesByScope(String scope) {
-        MutableLiveData<Resource<List<Notice>>> result = new MutableLiveData<>();
-        result.setValue(Resource.loading(null));
-
-        firestore.collection(Constants.COLLECTION_NOTICES)
-                .whereEqualTo("scope", scope) // Query por "SCHOOL"
-                .orderBy("publishedAt", Query.Direction.DESCENDING)
-                .addSnapshotListener((value, error) -> {
-                    if (error != null) {
-                        result.setValue(Resource.error("Error: " + error.getMessage(), null));
-                        return;
-                    }
-
-                    if (value != null) {
-                        List<Notice> notices = value.toObjects(Notice.class);
-                        // Asignar IDs
-                        for(int i=0; i < value.getDocuments().size(); i++){
-                            notices.get(i).setNoticeId(value.getDocuments().get(i).getId());
-                        }
-                        result.setValue(Resource.success(notices));
-                    }
+        LiveData<Resource<List<Notice>>> remote = FirestoreQueryRegistry.getInstance().query(
+                firestore.collection(Constants.COLLECTION_NOTICES)
+                        .whereEqualTo("scope", scope) // Query por "SCHOOL"
+                        .orderBy("publishedAt", Query.Direction.DESCENDING),
+                Notice.class,
+                value -> {
+                    List<Notice> notices = toNotices(value);
+                    List<NoticeEntity> entities = toEntities(notices);
+                    boolean fromCache = value.getMetadata().isFromCache();
+                    AppExecutors.getInstance().diskIO().execute(() -> {
+                        if (fromCache) noticeDao.insertAll(entities);
+                        else noticeDao.replaceByScope(scope, entities);
+                    });
+                    return notices;
                 });
-
-        return result;
+        return OfflineFirstResource.create(noticeDao.observeByScope(scope), NoticeEntity::toModel, remote);
     }
     // --- FIN DE CÓDIGO MODIFICADO ---
 
 
     // --- INICIO DE MÉTODOS RESTAURADOS ---
     public LiveData<Resource<List<Notice>>> getAllNotices() {
-        MutableLiveData<Resource<List<Notice>>> result = new MutableLiveData<>();
-        result.setValue(Resource.loading(null));
-
-        firestore.collection(Constants.COLLECTION_NOTICES)
-                .orderBy("publishedAt", Query.Direction.DESCENDING)
-                .addSnapshotListener((value, error) -> {
-                    if (error != null) {
-                        result.setValue(Resource.error("Error: " + error.getMessage(), null));
-                        return;
-                    }
-
-                    if (value != null) {
-                        List<Notice> notices = value.toObjects(Notice.class);
-                        // Asignar IDs
-                        for(int i=0; i < value.getDocuments().size(); i++){
-                            notices.get(i).setNoticeId(value.getDocuments().get(i).getId());
-                        }
-                        result.setValue(Resource.success(notices));
-                    }
+        LiveData<Resource<List<Notice>>> remote = FirestoreQueryRegistry.getInstance().query(
+                firestore.collection(Constants.COLLECTION_NOTICES)
+                        .orderBy("publishedAt", Query.Direction.DESCENDING),
+                Notice.class,
+                value -> {
+                    List<Notice> notices = toNotices(value);
+                    List<NoticeEntity> entities = toEntities(notices);
+                    boolean fromCache = value.getMetadata().isFromCache();
+                    AppExecutors.getInstance().diskIO().execute(() -> {
+                        if (fromCache) noticeDao.insertAll(entities);
+                        else noticeDao.replaceAll(entities);
+                    });
+                    return notices;
                 });
+        return OfflineFirstResource.create(noticeDao.observeAll(), NoticeEntity::toModel, remote);
+    }
 
-        return result;
+    private static List<NoticeEntity> toEntities(List<Notice> notices) {
+        List<NoticeEntity> entities = new ArrayList<>();
+        for (Notice notice : notices) {
+            entities.add(NoticeEntity.fromModel(notice));
+        }
+        return entities;
+    }
+
+    // Convierte el snapshot en avisos; el mapper ya asigna el ID de documento
+    private static List<Notice> toNotices(QuerySnapshot value) {
+        return NoticeMapper.INSTANCE.mapAll(value);
     }
 
+    /**
+     * Marca el aviso como leído en una transacción que primero lee el acuse
+     * notices/{id}/readReceipts/{userId} y el aviso; si ya hay acuse, si el readBy del aviso
+     * (formato anterior) ya incluye al usuario o si el aviso se borró, no escribe nada, así un
+     * segundo toque (u otro dispositivo) no cuenta dos veces. Si no, escribe:
+     * - notices/{id}/readReceipts/{userId}: el acuse de lectura
+     * - users/{userId}/readNotices/{id}: para que el padre sepa qué avisos ya leyó
+     * - notices/{id}/readCounters/{shard}: incremento atómico del contador de lecturas
+     * - users/{userId}/counters/notices: decremento del contador de no leídos
+     * El estado que ya tiene el cliente solo sirve para no abrir la transacción sin necesidad.
+     */
     public LiveData<Resource<Void>> markAsRead(String noticeId, String userId) {
         MutableLiveData<Resource<Void>> result = new MutableLiveData<>();
         result.setValue(Resource.loading(null));
 
-        firestore.collection(Constants.COLLECTION_NOTICES)
-                .document(noticeId)
-                .get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    Notice notice = documentSnapshot.toObject(Notice.class);
-                    if (notice != null) {
-                        notice.markAsReadBy(userId);
-                        firestore.collection(Constants.COLLECTION_NOTICES)
-                                .document(noticeId)
-                                .update("readBy", notice.getReadBy())
-                                .addOnSuccessListener(aVoid ->
-                                        result.setValue(Resource.success(null)))
-                                .addOnFailureListener(e -> result.setValue(Resource.error(
-                                        "Error: " + e.getMessage(), null)));
-                    }
+        if (isAlreadyRead(noticeId, userId)) {
+            result.setValue(Resource.success(null));
+            return result;
+        }
+        markedInSession.add(userId + "/" + noticeId);
+
+        Map<String, Object> receipt = new HashMap<>();
+        receipt.put("userId", userId);
+        receipt.put("noticeId", noticeId);
+        receipt.put("readAt", FieldValue.serverTimestamp());
+
+        DocumentReference noticeRef = firestore.collection(Constants.COLLECTION_NOTICES).document(noticeId);
+        DocumentReference receiptRef = noticeRef.collection(Constants.COLLECTION_READ_RECEIPTS).document(userId);
+        DocumentReference shardRef = noticeRef.collection(Constants.COLLECTION_READ_COUNTERS)
+                .document(String.valueOf(random.nextInt(Constants.READ_COUNTER_SHARDS)));
+
+        firestore.runTransaction(transaction -> {
+                    // Las dos lecturas antes de cualquier escritura, como exige la transacción
+                    DocumentSnapshot noticeSnapshot = transaction.get(noticeRef);
+                    if (transaction.get(receiptRef).exists()) return null;
+                    // Aviso borrado (su borrado ya ajustó el contador) o leído con el readBy viejo
+                    Notice notice = noticeSnapshot.exists() ? NoticeMapper.INSTANCE.map(noticeSnapshot) : null;
+                    if (notice == null || notice.isReadByUser(userId)) return null;
+                    transaction.set(receiptRef, receipt);
+                    transaction.set(firestore.collection(Constants.COLLECTION_USERS).document(userId)
+                            .collection(Constants.COLLECTION_READ_NOTICES).document(noticeId), receipt);
+                    transaction.set(shardRef,
+                            Collections.singletonMap("count", FieldValue.increment(1)), SetOptions.merge());
+                    transaction.set(unreadCounterRef(userId), unreadDelta(-1), SetOptions.merge());
+                    return null;
                 })
-                .addOnFailureListener(e -> result.setValue(Resource.error(
-                        "Error: " + e.getMessage(), null)));
+                .addOnSuccessListener(aVoid -> result.setValue(Resource.success(null)))
+                .addOnFailureListener(e -> {
+                    markedInSession.remove(userId + "/" + noticeId);
+                    result.setValue(Resource.error("Error: " + e.getMessage(), null));
+                });
+
+        return result;
+    }
+
+    private boolean isAlreadyRead(String noticeId, String userId) {
+        if (markedInSession.contains(userId + "/" + noticeId)) return true;
+        // Solo miramos el stream si ya existe; no creamos un listener para esto
+        LiveData<Resource<Set<String>>> stream =
+                FirestoreQueryRegistry.getInstance().peek(readNoticesQuery(userId), String.class);
+        Resource<Set<String>> readState = stream != null ? stream.getValue() : null;
+        return readState != null && readState.getData() != null
+                && readState.getData().contains(noticeId);
+    }
+
+    /**
+     * IDs de los avisos que ya leyó el usuario (users/{userId}/readNotices).
+     * Es un stream compartido, así que todas las pantallas del padre usan el mismo listener.
+     */
+    public LiveData<Resource<Set<String>>> getReadNoticeIds(String userId) {
+        return FirestoreQueryRegistry.getInstance().query(
+                readNoticesQuery(userId),
+                String.class,
+                value -> {
+                    Set<String> ids = new HashSet<>();
+                    for (DocumentSnapshot doc : value.getDocuments()) {
+                        ids.add(doc.getId());
+                    }
+                    return ids;
+                });
+    }
+
+    private Query readNoticesQuery(String userId) {
+        return firestore.collection(Constants.COLLECTION_USERS).document(userId)
+                .collection(Constants.COLLECTION_READ_NOTICES);
+    }
+
+    /**
+     * Combina una lista de avisos con el estado de lectura del usuario: a los avisos leídos
+     * se les pone el usuario en readBy (solo en memoria) para que isReadByUser() funcione.
+     * Un aviso cuenta como leído si tiene acuse o si su readBy guardado (avisos viejos) ya
+     * incluía al usuario.
+     */
+    public LiveData<Resource<List<Notice>>> withReadState(LiveData<Resource<List<Notice>>> notices,
+                                                         String userId) {
+        MediatorLiveData<Resource<List<Notice>>> result = new MediatorLiveData<>();
+        LiveData<Resource<Set<String>>> readIds = getReadNoticeIds(userId);
+
+        Runnable combine = () -> {
+            Resource<List<Notice>> noticesResource = notices.getValue();
+            if (noticesResource == null) return;
+            if (noticesResource.getStatus() != Resource.Status.SUCCESS || noticesResource.getData() == null) {
+                // Por el mismo executor para no adelantarse a una copia pendiente
+                AppExecutors.getInstance().snapshotIO().execute(() -> result.postValue(noticesResource));
+                return;
+            }
 
+            Resource<Set<String>> readResource = readIds.getValue();
+            Set<String> read = readResource != null && readResource.getData() != null
+                    ? readResource.getData() : Collections.emptySet();
+            List<Notice> source = noticesResource.getData();
+
+            // Las copias se arman fuera del hilo principal
+            AppExecutors.getInstance().snapshotIO().execute(() -> {
+                List<Notice> combined = new ArrayList<>();
+                for (Notice notice : source) {
+                    // Copia nueva para que DiffUtil detecte el cambio de leído/no leído
+                    Notice copy = NoticeEntity.fromModel(notice).toModel();
+                    copy.setReadBy(read.contains(notice.getNoticeId()) || notice.isReadByUser(userId)
+                            ? new ArrayList<>(Collections.singletonList(userId))
+                            : new ArrayList<>());
+                    combined.add(copy);
+                }
+                result.postValue(Resource.success(combined));
+            });
+        };
+
+        result.addSource(notices, resource -> combine.run());
+        result.addSource(readIds, resource -> combine.run());
         return result;
     }
+
+    /**
+     * Número de padres que leyeron el aviso: suma de los shards del contador.
+     */
+    public LiveData<Resource<Long>> getReadCount(String noticeId) {
+        return FirestoreQueryRegistry.getInstance().query(
+                firestore.collection(Constants.COLLECTION_NOTICES).document(noticeId)
+                        .collection(Constants.COLLECTION_READ_COUNTERS),
+                Long.class,
+                value -> {
+                    long total = 0;
+                    for (DocumentSnapshot shard : value.getDocuments()) {
+                        Long count = shard.getLong("count");
+                        if (count != null) total += count;
+                    }
+                    return total;
+                });
+    }
     // --- FIN DE MÉTODOS RESTAURADOS ---
 
 
@@ -319,67 +656,98 @@ public class NoticeRepository {
         }
     }
 
+    /**
+     * Borra el aviso y, en los mismos batches, resta uno al contador de no leídos de cada
+     * destinatario que todavía no lo había leído.
+     */
     public LiveData<Resource<Void>> deleteNotice(String noticeId) {
         MutableLiveData<Resource<Void>> result = new MutableLiveData<>();
         result.setValue(Resource.loading(null));
 
-        firestore.collection(Constants.COLLECTION_NOTICES).document(noticeId).get()
+        DocumentReference noticeRef = firestore.collection(Constants.COLLECTION_NOTICES).document(noticeId);
+        noticeRef.get()
                 .addOnSuccessListener(documentSnapshot -> {
-                    String imageUrlToDelete = null;
-                    if (documentSnapshot.exists()) {
-                        Notice notice = documentSnapshot.toObject(Notice.class);
-                        if (notice != null && notice.getImageUrl() != null && !notice.getImageUrl().isEmpty()) {
-                            imageUrlToDelete = notice.getImageUrl();
-                        }
+                    Notice notice = documentSnapshot.exists()
+                            ? NoticeMapper.INSTANCE.map(documentSnapshot) : null;
+                    if (notice == null) {
+                        commitNoticeDeletion(noticeRef, Collections.emptySet(), null, result);
+                        return;
                     }
-
-                    final String finalImageUrl = imageUrlToDelete;
-
-                    firestore.collection(Constants.COLLECTION_NOTICES)
-                            .document(noticeId)
-                            .delete()
-                            .addOnSuccessListener(aVoid -> {
-                                result.setValue(Resource.success(null));
-                                deleteFromStorage(finalImageUrl);
-                            })
-                            .addOnFailureListener(e -> result.setValue(Resource.error(
-                                    "Error al eliminar aviso: " + e.getMessage(), null)));
+                    String imageUrl = notice.getImageUrl() != null && !notice.getImageUrl().isEmpty()
+                            ? notice.getImageUrl() : null;
+
+                    Task<Set<String>> recipients = getRecipientIds(notice);
+                    Task<QuerySnapshot> receipts =
+                            noticeRef.collection(Constants.COLLECTION_READ_RECEIPTS).get();
+                    Tasks.whenAllComplete(recipients, receipts).addOnCompleteListener(done -> {
+                        Set<String> unreadBy = new HashSet<>();
+                        // Sin los acuses no sabemos quién lo leyó: mejor no tocar contadores
+                        if (recipients.isSuccessful() && receipts.isSuccessful()) {
+                            unreadBy.addAll(recipients.getResult());
+                            for (DocumentSnapshot receipt : receipts.getResult().getDocuments()) {
+                                unreadBy.remove(receipt.getId());
+                            }
+                            if (notice.getReadBy() != null) unreadBy.removeAll(notice.getReadBy());
+                        } else {
+                            Log.e(TAG, "No se pudieron obtener destinatarios del aviso a borrar");
+                        }
+                        commitNoticeDeletion(noticeRef, unreadBy, imageUrl, result);
+                    });
                 })
                 .addOnFailureListener(e -> {
                     Log.e(TAG, "Error al obtener aviso antes de borrar. Borrando solo doc.", e);
-                    firestore.collection(Constants.COLLECTION_NOTICES)
-                            .document(noticeId)
-                            .delete()
-                            .addOnSuccessListener(aVoid -> result.setValue(Resource.success(null)))
-                            .addOnFailureListener(eDel -> result.setValue(Resource.error(
-                                    "Error al eliminar aviso: " + eDel.getMessage(), null)));
+                    commitNoticeDeletion(noticeRef, Collections.emptySet(), null, result);
                 });
 
         return result;
     }
+
+    private void commitNoticeDeletion(DocumentReference noticeRef, Set<String> unreadBy,
+                                      @Nullable String imageUrl, MutableLiveData<Resource<Void>> result) {
+        List<WriteBatch> batches = new ArrayList<>();
+        WriteBatch batch = firestore.batch();
+        batch.delete(noticeRef);
+        int operations = 1;
+
+        for (String parentId : unreadBy) {
+            if (operations == MAX_BATCH_SIZE) {
+                batches.add(batch);
+                batch = firestore.batch();
+                operations = 0;
+            }
+            batch.set(unreadCounterRef(parentId), unreadDelta(-1), SetOptions.merge());
+            operations++;
+        }
+        batches.add(batch);
+
+        // El primer batch lleva el borrado; los demás (solo contadores) se confirman después
+        batches.get(0).commit()
+                .addOnSuccessListener(aVoid -> {
+                    deleteFromStorage(imageUrl);
+                    commitAll(batches.subList(1, batches.size()))
+                            .addOnSuccessListener(done -> result.setValue(Resource.success(null)))
+                            .addOnFailureListener(e -> {
+                                Log.e(TAG, "Error al actualizar contadores de no leídos", e);
+                                result.setValue(Resource.error("Aviso eliminado, pero no se "
+                                        + "actualizaron los contadores de no leídos: " + e.getMessage(), null));
+                            });
+                })
+                .addOnFailureListener(e -> result.setValue(Resource.error(
+                        "Error al eliminar aviso: " + e.getMessage(), null)));
+    }
     // --- FIN DE LÓGICA DE ELIMINACIÓN ---
 
 
     // --- LÓGICA DE OBTENER POR ID (de la vez pasada) ---
+    // Pinta desde la caché y revalida con el servidor
     public LiveData<Resource<Notice>> getNoticeById(String noticeId) {
         MutableLiveData<Resource<Notice>> result = new MutableLiveData<>();
         result.setValue(Resource.loading(null));
 
-        firestore.collection(Constants.COLLECTION_NOTICES)
-                .document(noticeId)
-                .get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        Notice notice = documentSnapshot.toObject(Notice.class);
-                        // Asignamos el ID del documento al objeto
-                        notice.setNoticeId(documentSnapshot.getId());
-                        result.setValue(Resource.success(notice));
-                    } else {
-                        result.setValue(Resource.error("No se encontró el aviso", null));
-                    }
-                })
-                .addOnFailureListener(e -> result.setValue(Resource.error(
-                        "Error: " .concat(e.getMessage()), null)));
+        CacheFirstDocument.get(firestore.collection(Constants.COLLECTION_NOTICES).document(noticeId),
+                NoticeMapper.INSTANCE::map,
+                result,
+                () -> result.setValue(Resource.error("No se encontró el aviso", null)));
 
         return result;
     }
@@ -3,6 +3,8 @@ package com.example.kinderconnect.data.repository;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import com.example.kinderconnect.data.model.Notification;
+import com.example.kinderconnect.data.remote.FirestoreProvider;
+import com.example.kinderconnect.data.remote.FirestoreQueryRegistry;
 import com.example.kinderconnect.utils.Constants;
 import com.example.kinderconnect.utils.Resource;
 import com.google.firebase.firestore.FirebaseFirestore;
@@ -16,33 +18,20 @@ public class NotificationRepository {
     private final FirebaseFirestore firestore;
 
     public NotificationRepository() {
-        this.firestore = FirebaseFirestore.getInstance();
+        this.firestore = FirestoreProvider.get();
     }
 
     /**
      * Obtiene todas las notificaciones para un usuario específico, en tiempo real.
      */
     public LiveData<Resource<List<Notification>>> getNotificationsForUser(String userId) {
-        MutableLiveData<Resource<List<Notification>>> result = new MutableLiveData<>();
-        result.setValue(Resource.loading(null));
-
-        firestore.collection(Constants.COLLECTION_NOTIFICATIONS)
-                .whereEqualTo("userId", userId)
-                .orderBy("timestamp", Query.Direction.DESCENDING)
-                .limit(50) // Limitar a las 50 más recientes
-                .addSnapshotListener((value, error) -> {
-                    if (error != null) {
-                        result.setValue(Resource.error(error.getMessage(), null));
-                        return;
-                    }
-                    if (value != null) {
-                        List<Notification> notifications = value.toObjects(Notification.class);
-                        result.setValue(Resource.success(notifications));
-                    } else {
-                        result.setValue(Resource.success(null));
-                    }
-                });
-        return result;
+        return FirestoreQueryRegistry.getInstance().query(
+                firestore.collection(Constants.COLLECTION_NOTIFICATIONS)
+                        .whereEqualTo("userId", userId)
+                        .orderBy("timestamp", Query.Direction.DESCENDING)
+                        .limit(50), // Limitar a las 50 más recientes
+                Notification.class,
+                value -> value.toObjects(Notification.class));
     }
 
     /**
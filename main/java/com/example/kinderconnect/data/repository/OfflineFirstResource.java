@@ -0,0 +1,69 @@
+package com.example.kinderconnect.data.repository;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+import com.example.kinderconnect.utils.Resource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Combina el espejo de Room con el stream de Firestore.
+ * Los datos que se muestran siempre salen de Room (responde en milisegundos, también sin red);
+ * el stream remoto solo se usa para saber si terminó de cargar o si falló. Quien crea el
+ * stream remoto es responsable de guardar sus resultados en Room.
+ */
+final class OfflineFirstResource {
+
+    interface EntityMapper<E, T> {
+        T toModel(E entity);
+    }
+
+    private OfflineFirstResource() {
+    }
+
+    static <E, T> LiveData<Resource<List<T>>> create(LiveData<List<E>> local,
+                                                      EntityMapper<E, T> mapper,
+                                                      LiveData<Resource<List<T>>> remote) {
+        MediatorLiveData<Resource<List<T>>> result = new MediatorLiveData<>();
+        result.setValue(Resource.loading(null));
+
+        State<T> state = new State<>();
+
+        result.addSource(local, entities -> {
+            List<T> models = new ArrayList<>();
+            if (entities != null) {
+                for (E entity : entities) {
+                    models.add(mapper.toModel(entity));
+                }
+            }
+            state.cached = models;
+            // Con la caché vacía esperamos al servidor para no mostrar una lista vacía falsa
+            if (!models.isEmpty() || state.remoteDone) {
+                result.setValue(Resource.success(models));
+            }
+        });
+
+        result.addSource(remote, resource -> {
+            if (resource == null || resource.getStatus() == Resource.Status.LOADING) return;
+            state.remoteDone = true;
+            boolean cacheEmpty = state.cached == null || state.cached.isEmpty();
+
+            if (resource.getStatus() == Resource.Status.ERROR) {
+                // Sin red pero con datos locales: seguimos mostrando la caché
+                if (cacheEmpty) {
+                    result.setValue(Resource.error(resource.getMessage(), null));
+                }
+            } else if (cacheEmpty && (resource.getData() == null || resource.getData().isEmpty())) {
+                // Room no vuelve a emitir si no cambió ninguna fila
+                result.setValue(Resource.success(new ArrayList<>()));
+            }
+        });
+
+        return result;
+    }
+
+    private static class State<T> {
+        List<T> cached;
+        boolean remoteDone;
+    }
+}
@@ -5,11 +5,20 @@ import android.util.Log; // <-- AÑADIDO
 import androidx.annotation.Nullable; // <-- AÑADIDO
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import com.example.kinderconnect.KinderConnectApp;
+import com.example.kinderconnect.data.local.db.AppDatabase;
+import com.example.kinderconnect.data.local.db.StudentDao;
+import com.example.kinderconnect.data.local.entity.StudentEntity;
+import com.example.kinderconnect.data.mapper.StudentMapper;
 import com.example.kinderconnect.data.model.Group; // <-- AÑADIDO
 import com.example.kinderconnect.data.model.Student;
+import com.example.kinderconnect.data.remote.CacheFirstDocument;
+import com.example.kinderconnect.data.remote.FirestoreProvider;
+import com.example.kinderconnect.data.remote.FirestoreQueryRegistry;
+import com.example.kinderconnect.utils.AppExecutors;
 import com.example.kinderconnect.utils.Resource;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
 import com.google.firebase.firestore.SetOptions; // <-- AÑADIDO
 import com.google.firebase.storage.FirebaseStorage;
 import com.google.firebase.storage.StorageReference;
@@ -22,14 +31,16 @@ public class StudentRepository {
     private final FirebaseFirestore db;
     private final FirebaseStorage storage;
     private final GroupRepository groupRepository; // <-- AÑADIDO
+    private final StudentDao studentDao;
     private static final String COLLECTION_STUDENTS = "students";
     private static final String COLLECTION_USERS = "users";
     private static final String TAG = "StudentRepository"; // <-- AÑADIDO
 
     public StudentRepository() {
-        this.db = FirebaseFirestore.getInstance();
+        this.db = FirestoreProvider.get();
         this.storage = FirebaseStorage.getInstance();
         this.groupRepository = new GroupRepository(); // <-- AÑADIDO
+        this.studentDao = AppDatabase.getInstance(KinderConnectApp.getInstance()).studentDao();
     }
 
     // --- INICIO DE CÓDIGO AÑADIDO ---
@@ -194,7 +205,10 @@ public class StudentRepository {
             db.collection(COLLECTION_STUDENTS)
                     .document(studentId)
                     .set(student)
-                    .addOnSuccessListener(aVoid -> result.setValue(Resource.success(student)))
+                    .addOnSuccessListener(aVoid -> {
+                        CountRepository.invalidateStudentCounts();
+                        result.setValue(Resource.success(student));
+                    })
                     .addOnFailureListener(e ->
                             result.setValue(Resource.error("Error al guardar: " + e.getMessage(), null))
                     );
@@ -213,75 +227,68 @@ public class StudentRepository {
     // ... (getStudentsByParent, getStudentById, getStudentsByTeacher, deleteStudent sin cambios) ...
 
     public LiveData<Resource<List<Student>>> getStudentsByParent(String parentId) {
-        MutableLiveData<Resource<List<Student>>> result = new MutableLiveData<>();
-        result.setValue(Resource.loading(null));
-
-        db.collection(COLLECTION_STUDENTS)
-                .whereEqualTo("parentId", parentId)
-                .addSnapshotListener((value, error) -> {
-                    if (error != null) {
-                        result.setValue(Resource.error(error.getMessage(), null));
-                        return;
-                    }
-
-                    List<Student> students = new ArrayList<>();
-                    if (value != null) {
-                        for (QueryDocumentSnapshot doc : value) {
-                            Student student = doc.toObject(Student.class);
-                            students.add(student);
-                        }
-                    }
-                    result.setValue(Resource.success(students));
+        LiveData<Resource<List<Student>>> remote = FirestoreQueryRegistry.getInstance().query(
+                db.collection(COLLECTION_STUDENTS).whereEqualTo("parentId", parentId),
+                Student.class,
+                value -> {
+                    List<Student> students = toStudents(value);
+                    List<StudentEntity> entities = toEntities(students);
+                    boolean fromCache = value.getMetadata().isFromCache();
+                    AppExecutors.getInstance().diskIO().execute(() -> {
+                        if (fromCache) studentDao.insertAll(entities);
+                        else studentDao.replaceByParent(parentId, entities);
+                    });
+                    return students;
                 });
-
-        return result;
+        return OfflineFirstResource.create(studentDao.observeByParent(parentId),
+                StudentEntity::toModel, remote);
     }
 
+    // Pinta desde la caché y revalida con el servidor
     public LiveData<Resource<Student>> getStudentById(String studentId) {
         MutableLiveData<Resource<Student>> result = new MutableLiveData<>();
         result.setValue(Resource.loading(null));
 
-        db.collection(COLLECTION_STUDENTS)
-                .document(studentId)
-                .get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        Student student = documentSnapshot.toObject(Student.class);
-                        result.setValue(Resource.success(student));
-                    } else {
-                        result.setValue(Resource.error("No se encontró el alumno", null));
-                    }
-                })
-                .addOnFailureListener(e ->
-                        result.setValue(Resource.error(e.getMessage(), null))
-                );
+        CacheFirstDocument.get(db.collection(COLLECTION_STUDENTS).document(studentId),
+                StudentMapper.INSTANCE::map,
+                result,
+                () -> result.setValue(Resource.error("No se encontró el alumno", null)));
 
         return result;
     }
 
+    /**
+     * Lee primero de Room y refresca el espejo local con el listener de Firestore.
+     * Un snapshot que viene del caché de Firestore solo se agrega; uno del servidor reemplaza.
+     */
     public LiveData<Resource<List<Student>>> getStudentsByTeacher(String teacherId) {
-        MutableLiveData<Resource<List<Student>>> result = new MutableLiveData<>();
-        result.setValue(Resource.loading(null));
-
-        db.collection(COLLECTION_STUDENTS)
-                .whereEqualTo("teacherId", teacherId)
-                .addSnapshotListener((value, error) -> {
-                    if (error != null) {
-                        result.setValue(Resource.error(error.getMessage(), null));
-                        return;
-                    }
-
-                    List<Student> students = new ArrayList<>();
-                    if (value != null) {
-                        for (QueryDocumentSnapshot doc : value) {
-                            Student student = doc.toObject(Student.class);
-                            students.add(student);
-                        }
-                    }
-                    result.setValue(Resource.success(students));
+        LiveData<Resource<List<Student>>> remote = FirestoreQueryRegistry.getInstance().query(
+                db.collection(COLLECTION_STUDENTS).whereEqualTo("teacherId", teacherId),
+                Student.class,
+                value -> {
+                    List<Student> students = toStudents(value);
+                    List<StudentEntity> entities = toEntities(students);
+                    boolean fromCache = value.getMetadata().isFromCache();
+                    AppExecutors.getInstance().diskIO().execute(() -> {
+                        if (fromCache) studentDao.insertAll(entities);
+                        else studentDao.replaceByTeacher(teacherId, entities);
+                    });
+                    return students;
                 });
+        return OfflineFirstResource.create(studentDao.observeByTeacher(teacherId),
+                StudentEntity::toModel, remote);
+    }
 
-        return result;
+    private static List<StudentEntity> toEntities(List<Student> students) {
+        List<StudentEntity> entities = new ArrayList<>();
+        for (Student student : students) {
+            entities.add(StudentEntity.fromModel(student));
+        }
+        return entities;
+    }
+
+    private static List<Student> toStudents(QuerySnapshot value) {
+        return StudentMapper.INSTANCE.mapAll(value);
     }
 
     public LiveData<Resource<Void>> deleteStudent(String studentId) {
@@ -293,7 +300,7 @@ public class StudentRepository {
                 .addOnSuccessListener(documentSnapshot -> {
                     String photoUrlToDelete = null;
                     if (documentSnapshot.exists()) {
-                        Student student = documentSnapshot.toObject(Student.class);
+                        Student student = StudentMapper.INSTANCE.map(documentSnapshot);
                         if (student != null && student.getPhotoUrl() != null) {
                             photoUrlToDelete = student.getPhotoUrl();
                         }
@@ -308,6 +315,7 @@ public class StudentRepository {
                             .addOnSuccessListener(aVoid -> {
                                 // 3. Borrar la foto de Storage
                                 deleteFromStorage(finalPhotoUrl);
+                                CountRepository.invalidateStudentCounts();
                                 result.setValue(Resource.success(null));
                             })
                             .addOnFailureListener(e ->
@@ -320,7 +328,10 @@ public class StudentRepository {
                     db.collection(COLLECTION_STUDENTS)
                             .document(studentId)
                             .delete()
-                            .addOnSuccessListener(aVoid -> result.setValue(Resource.success(null)))
+                            .addOnSuccessListener(aVoid -> {
+                                CountRepository.invalidateStudentCounts();
+                                result.setValue(Resource.success(null));
+                            })
                             .addOnFailureListener(eDel ->
                                     result.setValue(Resource.error(eDel.getMessage(), null))
                             );
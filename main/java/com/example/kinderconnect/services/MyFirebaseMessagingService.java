@@ -5,6 +5,7 @@ import android.content.Intent;
 import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.core.app.NotificationCompat;
+import androidx.startup.AppInitializer;
 import com.google.firebase.messaging.FirebaseMessagingService;
 import com.google.firebase.messaging.RemoteMessage;
 import com.example.kinderconnect.R;
@@ -12,6 +13,7 @@ import com.example.kinderconnect.R;
 import com.example.kinderconnect.data.local.PreferencesManager;
 import com.example.kinderconnect.data.repository.AuthRepository;
 // --- FIN DE CÓDIGO AÑADIDO ---
+import com.example.kinderconnect.startup.NotificationChannelsInitializer;
 import com.example.kinderconnect.ui.auth.LoginActivity;
 import com.example.kinderconnect.utils.Constants;
 import com.example.kinderconnect.utils.NotificationHelper;
@@ -34,6 +36,9 @@ public class MyFirebaseMessagingService extends FirebaseMessagingService {
 
         Log.d(TAG, "From: " + remoteMessage.getFrom());
 
+        // Si el proceso arrancó por este push puede que aún no existan los canales
+        AppInitializer.getInstance(this).initializeComponent(NotificationChannelsInitializer.class);
+
         // Verificar si el mensaje contiene datos
         if (!remoteMessage.getData().isEmpty()) {
             Log.d(TAG, "Message data payload: " + remoteMessage.getData());
@@ -128,15 +133,20 @@ public class MyFirebaseMessagingService extends FirebaseMessagingService {
         // Aquí implementamos la lógica para actualizar el token si cambia
         // mientras el usuario tiene la sesión iniciada.
 
+        // El servicio puede arrancar el proceso antes de que se lean las preferencias
+        PreferencesManager preferencesManager = PreferencesManager.getInstance(this);
+        preferencesManager.whenLoaded(() -> uploadTokenForCurrentUser(preferencesManager, token));
+    }
+
+    private void uploadTokenForCurrentUser(PreferencesManager preferencesManager, String token) {
         // 1. Obtener el UID del usuario logueado
-        PreferencesManager preferencesManager = new PreferencesManager(this);
         String currentUserId = preferencesManager.getUserId();
 
         if (currentUserId != null) {
             // 2. Actualizar el token en Firestore
             Log.d(TAG, "Usuario logueado, actualizando token en Firestore...");
             AuthRepository authRepository = new AuthRepository();
-            authRepository.updateUserTokenFireAndForget(currentUserId, token);
+            authRepository.uploadFcmTokenIfChanged(currentUserId, token, preferencesManager);
         } else {
             Log.w(TAG, "Nuevo token generado, pero no hay usuario logueado. Se guardará al iniciar sesión.");
             // Opcional: podrías guardar el token en SharedPreferences aquí
@@ -0,0 +1,30 @@
+package com.example.kinderconnect.startup;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.startup.Initializer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Agrupa lo que no hace falta para el primer frame. No está en el manifest:
+ * KinderConnectApp lo inicializa después de que se dibuja la primera actividad.
+ */
+public class DeferredInitializer implements Initializer<Void> {
+
+    @Override
+    public Void create(@NonNull Context context) {
+        // El trabajo lo hacen las dependencias
+        return null;
+    }
+
+    @NonNull
+    @Override
+    public List<Class<? extends Initializer<?>>> dependencies() {
+        return Arrays.asList(
+                NotificationChannelsInitializer.class,
+                SyncWorkInitializer.class,
+                GlideInitializer.class,
+                MapsRendererInitializer.class);
+    }
+}
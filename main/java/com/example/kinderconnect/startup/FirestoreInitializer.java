@@ -0,0 +1,35 @@
+package com.example.kinderconnect.startup;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.startup.Initializer;
+import com.example.kinderconnect.data.remote.FirestoreProvider;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Configura y arranca Firestore en segundo plano mientras se dibuja SplashActivity.
+ * FirestoreProvider.get() está sincronizado: si un repositorio lo pide antes de que
+ * termine, espera a la misma instancia en lugar de configurarla dos veces.
+ */
+public class FirestoreInitializer implements Initializer<Void> {
+
+    @Override
+    public Void create(@NonNull Context context) {
+        // Hilo propio: en diskIO retrasaría las primeras lecturas de Room.
+        // getPersistentCacheIndexManager() dentro de get() ya abre la caché local
+        ExecutorService executor = Executors.newSingleThreadExecutor(
+                runnable -> new Thread(runnable, "firestore-init"));
+        executor.execute(FirestoreProvider::get);
+        executor.shutdown();
+        return null;
+    }
+
+    @NonNull
+    @Override
+    public List<Class<? extends Initializer<?>>> dependencies() {
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.kinderconnect.startup;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.startup.Initializer;
+import com.bumptech.glide.Glide;
+import com.example.kinderconnect.utils.AppExecutors;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Construye el singleton de Glide (cachés, pools y registro de decoders) fuera del hilo
+ * principal, para que el primer Glide.with() de ParentHomeFragment no lo haga en la UI.
+ */
+public class GlideInitializer implements Initializer<Void> {
+
+    @Override
+    public Void create(@NonNull Context context) {
+        Context appContext = context.getApplicationContext();
+        AppExecutors.getInstance().diskIO().execute(() -> Glide.get(appContext));
+        return null;
+    }
+
+    @NonNull
+    @Override
+    public List<Class<? extends Initializer<?>>> dependencies() {
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.kinderconnect.startup;
+
+import android.content.Context;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.startup.Initializer;
+import com.google.android.gms.maps.MapsInitializer;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Carga el renderer de Google Maps antes de abrir BusRouteFragment. Tiene que
+ * llamarse en el hilo principal, por eso solo se ejecuta ya diferido.
+ */
+public class MapsRendererInitializer implements Initializer<Void> {
+    private static final String TAG = "MapsRendererInit";
+
+    @Override
+    public Void create(@NonNull Context context) {
+        MapsInitializer.initialize(
+                context.getApplicationContext(),
+                MapsInitializer.Renderer.LATEST,
+                renderer -> Log.d(TAG, "Renderer de mapas listo: " + renderer));
+        return null;
+    }
+
+    @NonNull
+    @Override
+    public List<Class<? extends Initializer<?>>> dependencies() {
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.kinderconnect.startup;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.startup.Initializer;
+import com.example.kinderconnect.utils.NotificationHelper;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Crea los canales de notificación. Es diferido: se inicializa desde
+ * {@link DeferredInitializer} o, si llega un push antes, desde el servicio de FCM.
+ */
+public class NotificationChannelsInitializer implements Initializer<Void> {
+
+    @Override
+    public Void create(@NonNull Context context) {
+        NotificationHelper.createNotificationChannels(context);
+        return null;
+    }
+
+    @NonNull
+    @Override
+    public List<Class<? extends Initializer<?>>> dependencies() {
+        return Collections.emptyList();
+    }
+}
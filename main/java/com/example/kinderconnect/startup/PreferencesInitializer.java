@@ -0,0 +1,28 @@
+package com.example.kinderconnect.startup;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.startup.Initializer;
+import com.example.kinderconnect.data.local.PreferencesManager;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Crea PreferencesManager al arrancar el proceso para que la lectura del DataStore
+ * (y la migración desde SharedPreferences, si toca) empiece en segundo plano antes
+ * de que SplashActivity pida la sesión guardada.
+ */
+public class PreferencesInitializer implements Initializer<PreferencesManager> {
+
+    @NonNull
+    @Override
+    public PreferencesManager create(@NonNull Context context) {
+        return PreferencesManager.getInstance(context);
+    }
+
+    @NonNull
+    @Override
+    public List<Class<? extends Initializer<?>>> dependencies() {
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.kinderconnect.startup;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.startup.Initializer;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.WorkManagerInitializer;
+import com.example.kinderconnect.utils.Constants;
+import com.example.kinderconnect.workers.SyncWorker;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encola la sincronización periódica. Es diferido: no hace falta para pintar la
+ * primera pantalla y enqueue toca la base de datos de WorkManager.
+ */
+public class SyncWorkInitializer implements Initializer<Void> {
+
+    @Override
+    public Void create(@NonNull Context context) {
+        // Configurar restricciones
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .setRequiresBatteryNotLow(true)
+                .build();
+
+        // Crear trabajo periódico (cada 15 minutos es el mínimo)
+        PeriodicWorkRequest syncWorkRequest =
+                new PeriodicWorkRequest.Builder(SyncWorker.class, 15, TimeUnit.MINUTES)
+                        .setConstraints(constraints)
+                        .addTag(Constants.WORK_TAG_SYNC)
+                        .build();
+
+        WorkManager.getInstance(context).enqueueUniquePeriodicWork(
+                Constants.WORK_TAG_SYNC,
+                ExistingPeriodicWorkPolicy.KEEP,
+                syncWorkRequest
+        );
+        return null;
+    }
+
+    @NonNull
+    @Override
+    public List<Class<? extends Initializer<?>>> dependencies() {
+        // SyncWorker escribe en Firestore, que debe estar configurado antes
+        return Arrays.asList(WorkManagerInitializer.class, FirestoreInitializer.class);
+    }
+}
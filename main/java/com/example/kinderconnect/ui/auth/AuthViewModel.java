@@ -6,6 +6,7 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 import com.google.firebase.auth.FirebaseUser;
+import com.example.kinderconnect.data.local.PreferencesManager;
 import com.example.kinderconnect.data.model.User;
 import com.example.kinderconnect.data.repository.AuthRepository;
 import com.example.kinderconnect.data.repository.GalleryRepository;
@@ -53,6 +54,13 @@ public class AuthViewModel extends ViewModel {
     public LiveData<Resource<Void>> updateUserToken(String uid, String token) {
         return authRepository.updateUserToken(uid, token);
     }
+
+    /**
+     * Sube el token FCM solo si cambió desde la última vez.
+     */
+    public void syncFcmToken(String uid, PreferencesManager preferencesManager) {
+        authRepository.syncFcmToken(uid, preferencesManager);
+    }
     // --- FIN DE CÓDIGO AÑADIDO ---
 
     public LiveData<FirebaseUser> getCurrentUser() {
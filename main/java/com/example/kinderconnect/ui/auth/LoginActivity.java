@@ -2,7 +2,6 @@ package com.example.kinderconnect.ui.auth;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.util.Log; // <-- AÑADIDO
 import android.view.View;
 import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
@@ -12,16 +11,16 @@ import com.example.kinderconnect.data.local.PreferencesManager;
 import com.example.kinderconnect.ui.parent.ParentMainActivity;
 import com.example.kinderconnect.ui.teacher.TeacherMainActivity;
 import com.example.kinderconnect.utils.Constants;
-import com.example.kinderconnect.utils.Resource;
 import com.example.kinderconnect.utils.ValidationUtils;
 import com.example.kinderconnect.data.model.User;
-import com.google.firebase.messaging.FirebaseMessaging; // <-- AÑADIDO
 
 public class LoginActivity extends AppCompatActivity {
     private ActivityLoginBinding binding;
     private AuthViewModel authViewModel;
     private PreferencesManager preferencesManager;
     private static final String TAG = "LoginActivity"; // <-- AÑADIDO
+    // getUserData puede emitir dos veces (caché y servidor); solo navegamos una vez
+    private boolean sessionStarted = false;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -30,7 +29,7 @@ public class LoginActivity extends AppCompatActivity {
         setContentView(binding.getRoot());
 
         authViewModel = new ViewModelProvider(this).get(AuthViewModel.class);
-        preferencesManager = new PreferencesManager(this);
+        preferencesManager = PreferencesManager.getInstance(this);
 
         setupListeners();
     }
@@ -97,15 +96,12 @@ public class LoginActivity extends AppCompatActivity {
                         binding.progressBar.setVisibility(View.VISIBLE);
                         break;
                     case SUCCESS:
-                        if (resource.getData() != null) {
-
-                            // --- INICIO DE CÓDIGO AÑADIDO ---
-                            // 1. Guardar el token en Firestore
-                            getAndSaveFcmToken(uid);
-                            // --- FIN DE CÓDIGO AÑADIDO ---
+                        if (resource.getData() != null && !sessionStarted) {
+                            sessionStarted = true;
 
-                            // 2. Guardar sesión y navegar
+                            // Guardar sesión y navegar; el token se sube en segundo plano
                             saveUserSession(resource.getData());
+                            authViewModel.syncFcmToken(uid, preferencesManager);
                             navigateToMainScreen(resource.getData().getUserType());
                         }
                         break;
@@ -120,30 +116,6 @@ public class LoginActivity extends AppCompatActivity {
         });
     }
 
-    // --- INICIO DE CÓDIGO AÑADIDO ---
-    private void getAndSaveFcmToken(String uid) {
-        FirebaseMessaging.getInstance().getToken()
-                .addOnSuccessListener(token -> {
-                    if (token != null) {
-                        // Enviar token a Firestore
-                        authViewModel.updateUserToken(uid, token).observe(this, resource -> {
-                            // Opcional: manejar la respuesta, pero para el login no es crítico
-                            if (resource.getStatus() == Resource.Status.SUCCESS) {
-                                Log.d(TAG, "FCM Token guardado en Firestore exitosamente.");
-                            } else if (resource.getStatus() == Resource.Status.ERROR) {
-                                Log.e(TAG, "Error al guardar FCM Token: " + resource.getMessage());
-                            }
-                        });
-                    } else {
-                        Log.e(TAG, "No se pudo obtener el FCM Token (es nulo).");
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error al obtener FCM Token", e);
-                });
-    }
-    // --- FIN DE CÓDIGO AÑADIDO ---
-
     private void saveUserSession(User user) {
         // ... (sin cambios) ...
         preferencesManager.setLoggedIn(true);
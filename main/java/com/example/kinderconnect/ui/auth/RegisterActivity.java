@@ -2,7 +2,6 @@ package com.example.kinderconnect.ui.auth;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.util.Log; // <-- AÑADIDO
 import android.view.View;
 import android.widget.RadioButton;
 import android.widget.Toast;
@@ -14,17 +13,17 @@ import com.example.kinderconnect.data.local.PreferencesManager;
 import com.example.kinderconnect.ui.parent.ParentMainActivity;
 import com.example.kinderconnect.ui.teacher.TeacherMainActivity;
 import com.example.kinderconnect.utils.Constants;
-import com.example.kinderconnect.utils.Resource; // <-- AÑADIDO
 import com.example.kinderconnect.utils.ValidationUtils;
 
 import java.util.Locale;
 import com.example.kinderconnect.data.model.User;
-import com.google.firebase.messaging.FirebaseMessaging; // <-- AÑADIDO
 
 public class RegisterActivity extends AppCompatActivity {
     private ActivityRegisterBinding binding;
     private AuthViewModel authViewModel;
     private PreferencesManager preferencesManager;
+    // getUserData puede emitir dos veces (caché y servidor); solo navegamos una vez
+    private boolean sessionStarted = false;
     private String selectedUserType = "";
     private static final String TAG = "RegisterActivity"; // <-- AÑADIDO
 
@@ -36,7 +35,7 @@ public class RegisterActivity extends AppCompatActivity {
         setContentView(binding.getRoot());
 
         authViewModel = new ViewModelProvider(this).get(AuthViewModel.class);
-        preferencesManager = new PreferencesManager(this);
+        preferencesManager = PreferencesManager.getInstance(this);
 
         setupToolbar();
         setupListeners();
@@ -142,15 +141,12 @@ public class RegisterActivity extends AppCompatActivity {
                         binding.progressBar.setVisibility(View.VISIBLE);
                         break;
                     case SUCCESS:
-                        if (resource.getData() != null) {
+                        if (resource.getData() != null && !sessionStarted) {
+                            sessionStarted = true;
 
-                            // --- INICIO DE CÓDIGO AÑADIDO ---
-                            // 1. Guardar el token en Firestore
-                            getAndSaveFcmToken(uid);
-                            // --- FIN DE CÓDIGO AÑADIDO ---
-
-                            // 2. Guardar sesión y navegar
+                            // Guardar sesión y navegar; el token se sube en segundo plano
                             saveUserSession(resource.getData());
+                            authViewModel.syncFcmToken(uid, preferencesManager);
                             navigateToMainScreen(resource.getData().getUserType());
                         }
                         break;
@@ -165,30 +161,6 @@ public class RegisterActivity extends AppCompatActivity {
         });
     }
 
-    // --- INICIO DE CÓDIGO AÑADIDO ---
-    // (Método idéntico al de LoginActivity)
-    private void getAndSaveFcmToken(String uid) {
-        FirebaseMessaging.getInstance().getToken()
-                .addOnSuccessListener(token -> {
-                    if (token != null) {
-                        // Enviar token a Firestore
-                        authViewModel.updateUserToken(uid, token).observe(this, resource -> {
-                            if (resource.getStatus() == Resource.Status.SUCCESS) {
-                                Log.d(TAG, "FCM Token guardado en Firestore exitosamente.");
-                            } else if (resource.getStatus() == Resource.Status.ERROR) {
-                                Log.e(TAG, "Error al guardar FCM Token: " + resource.getMessage());
-                            }
-                        });
-                    } else {
-                        Log.e(TAG, "No se pudo obtener el FCM Token (es nulo).");
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error al obtener FCM Token", e);
-                });
-    }
-    // --- FIN DE CÓDIGO AÑADIDO ---
-
     private void saveUserSession(User user) {
         // ... (sin cambios) ...
         preferencesManager.setLoggedIn(true);
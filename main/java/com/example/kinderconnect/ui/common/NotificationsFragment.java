@@ -44,7 +44,7 @@ public class NotificationsFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
 
-        preferencesManager = new PreferencesManager(requireContext());
+        preferencesManager = PreferencesManager.getInstance(requireContext());
         currentUserId = preferencesManager.getUserId();
         isTeacher = preferencesManager.isTeacher();
 
@@ -106,7 +106,8 @@ public class NotificationsFragment extends Fragment {
                         binding.emptyView.getRoot().setVisibility(View.GONE);
                         adapter.submitList(notifications);
 
-                        // Chequear si hay alguna no leída para mostrar el botón
+                        // Chequear si hay alguna no leída para mostrar el botón.
+                        // Con la lista ya cargada no hace falta un count() aparte
                         boolean hasUnread = notifications.stream().anyMatch(n -> !n.isRead());
                         binding.btnMarkAllRead.setVisibility(hasUnread ? View.VISIBLE : View.GONE);
 
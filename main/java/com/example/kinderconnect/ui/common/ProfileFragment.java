@@ -61,7 +61,7 @@ public class ProfileFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
 
-        preferencesManager = new PreferencesManager(requireContext());
+        preferencesManager = PreferencesManager.getInstance(requireContext());
         // Inicializar el ViewModel
         authViewModel = new ViewModelProvider(this).get(AuthViewModel.class);
 
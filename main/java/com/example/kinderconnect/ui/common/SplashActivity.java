@@ -1,5 +1,6 @@
 package com.example.kinderconnect.ui.common;
 
+import android.content.Context;
 import android.content.Intent;
 import android.os.Bundle;
 // Importa la nueva clase de Splash Screen
@@ -7,6 +8,7 @@ import androidx.core.splashscreen.SplashScreen;
 import androidx.appcompat.app.AppCompatActivity;
 // Se eliminan los imports de Handler y R
 import com.example.kinderconnect.data.local.PreferencesManager;
+import com.example.kinderconnect.data.repository.AuthRepository;
 import com.example.kinderconnect.ui.auth.LoginActivity;
 import com.example.kinderconnect.ui.parent.ParentMainActivity;
 import com.example.kinderconnect.ui.teacher.TeacherMainActivity;
@@ -19,30 +21,38 @@ public class SplashActivity extends AppCompatActivity {
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         // Instala la nueva Splash Screen ANTES de super.onCreate()
-        SplashScreen.installSplashScreen(this);
+        SplashScreen splashScreen = SplashScreen.installSplashScreen(this);
 
         super.onCreate(savedInstanceState);
 
         // Ya no se necesita setContentView()
         // setContentView(R.layout.activity_splash);
 
-        preferencesManager = new PreferencesManager(this);
+        preferencesManager = PreferencesManager.getInstance(this);
 
         // Ya no se necesita el Handler, la navegación es inmediata.
-        // La API de Splash Screen mantendrá la pantalla visible
-        // hasta que la primera vista de la siguiente actividad se dibuje.
-        checkUserSession();
+        // La API de Splash Screen mantendrá la pantalla visible mientras se terminan de
+        // leer las preferencias (sin bloquear el hilo principal) y hasta que la primera
+        // vista de la siguiente actividad se dibuje.
+        splashScreen.setKeepOnScreenCondition(() -> !preferencesManager.isLoaded());
+        preferencesManager.whenLoaded(this::checkUserSession);
     }
 
     private void checkUserSession() {
+        if (isFinishing() || isDestroyed()) return;
+
         Intent intent;
         if (preferencesManager.isLoggedIn()) {
             String userType = preferencesManager.getUserType();
 
+            // Se navega con la sesión guardada sin esperar a la red;
+            // Auth y el perfil se validan en segundo plano
             if (Constants.USER_TYPE_TEACHER.equals(userType)) {
                 intent = new Intent(this, TeacherMainActivity.class);
+                validateSessionInBackground();
             } else if (Constants.USER_TYPE_PARENT.equals(userType)) {
                 intent = new Intent(this, ParentMainActivity.class);
+                validateSessionInBackground();
             } else {
                 // Caso de seguridad (logueado pero sin tipo)
                 intent = new Intent(this, LoginActivity.class);
@@ -56,4 +66,19 @@ public class SplashActivity extends AppCompatActivity {
         startActivity(intent);
         finish(); // Cierra la SplashActivity
     }
+
+    private void validateSessionInBackground() {
+        // Contexto de aplicación: la validación termina después de cerrar esta actividad
+        Context appContext = getApplicationContext();
+        PreferencesManager preferences = preferencesManager;
+        AuthRepository authRepository = new AuthRepository();
+        authRepository.validateSession(preferences, () -> {
+            authRepository.logout();
+            preferences.clearAll();
+
+            Intent intent = new Intent(appContext, LoginActivity.class);
+            intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
+            appContext.startActivity(intent);
+        });
+    }
 }
\ No newline at end of file
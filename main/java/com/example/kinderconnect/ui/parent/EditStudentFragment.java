@@ -13,6 +13,7 @@ import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.appcompat.app.AlertDialog;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.Navigation;
@@ -24,9 +25,11 @@ import com.example.kinderconnect.data.model.Student;
 import com.example.kinderconnect.utils.DateUtils;
 import com.example.kinderconnect.utils.PermissionManager;
 import com.example.kinderconnect.utils.Resource;
+import com.example.kinderconnect.utils.ValidationUtils;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
+import java.util.Objects;
 
 public class EditStudentFragment extends Fragment {
     private FragmentEditStudentBinding binding; // <-- CAMBIADO
@@ -38,6 +41,9 @@ public class EditStudentFragment extends Fragment {
 
     private String studentId;
     private Student currentStudent;
+    // Versión con la que se llenó el formulario, para saber si el usuario ya lo editó
+    private Student filledStudent;
+    private boolean serverChanged = false;
 
     @Override
     public void onCreate(@Nullable Bundle savedInstanceState) {
@@ -70,7 +76,7 @@ public class EditStudentFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
         viewModel = new ViewModelProvider(this).get(ParentViewModel.class);
-        preferencesManager = new PreferencesManager(requireContext());
+        preferencesManager = PreferencesManager.getInstance(requireContext());
 
         setupToolbar();
         setupListeners();
@@ -100,8 +106,18 @@ public class EditStudentFragment extends Fragment {
         viewModel.getStudentById(studentId).observe(getViewLifecycleOwner(), resource -> {
             binding.progressBar.setVisibility(View.GONE);
             if (resource.getStatus() == Resource.Status.SUCCESS && resource.getData() != null) {
-                currentStudent = resource.getData();
-                populateUi(currentStudent);
+                Student student = resource.getData();
+                if (filledStudent == null || formMatches(filledStudent)) {
+                    // Sin cambios del usuario: se llena (o refresca) con la versión más nueva
+                    populateUi(student);
+                    filledStudent = student;
+                } else if (!formMatches(student)) {
+                    // Ya editó y el servidor trae otra versión: no se pisa, se avisa al guardar
+                    serverChanged = true;
+                    Toast.makeText(requireContext(), "Estos datos cambiaron mientras los editabas",
+                            Toast.LENGTH_SHORT).show();
+                }
+                currentStudent = student;
             } else if (resource.getStatus() == Resource.Status.ERROR) {
                 Toast.makeText(requireContext(), "Error al cargar datos: " + resource.getMessage(), Toast.LENGTH_SHORT).show();
                 Navigation.findNavController(binding.getRoot()).navigateUp();
@@ -109,6 +125,34 @@ public class EditStudentFragment extends Fragment {
         });
     }
 
+    private boolean formMatches(Student student) {
+        return selectedImageUri == null
+                && ValidationUtils.sameText(binding.etFullName.getText(), student.getFullName())
+                && ValidationUtils.sameText(binding.etEmergencyContact.getText(), student.getEmergencyContact())
+                && ValidationUtils.sameText(binding.etAllergies.getText(), student.getAllergies())
+                && ValidationUtils.sameText(binding.etMedicalNotes.getText(), student.getMedicalNotes())
+                && Objects.equals(selectedBirthDate, student.getBirthDate());
+    }
+
+    // Los datos cambiaron en el servidor después de que el usuario empezó a editar
+    private void confirmOverwrite() {
+        new AlertDialog.Builder(requireContext())
+                .setTitle("Datos actualizados")
+                .setMessage("Alguien más modificó estos datos mientras los editabas. "
+                        + "¿Guardar tus cambios de todos modos o recargar los datos nuevos?")
+                .setPositiveButton("Guardar", (dialog, which) -> {
+                    serverChanged = false;
+                    validateAndSaveStudent();
+                })
+                .setNegativeButton("Recargar", (dialog, which) -> {
+                    serverChanged = false;
+                    selectedImageUri = null;
+                    populateUi(currentStudent);
+                    filledStudent = currentStudent;
+                })
+                .show();
+    }
+
     private void populateUi(Student student) {
         binding.etFullName.setText(student.getFullName());
         binding.etEmergencyContact.setText(student.getEmergencyContact());
@@ -176,6 +220,10 @@ public class EditStudentFragment extends Fragment {
             Toast.makeText(requireContext(), "Error, datos no cargados", Toast.LENGTH_SHORT).show();
             return;
         }
+        if (serverChanged) {
+            confirmOverwrite();
+            return;
+        }
 
         String fullName = binding.etFullName.getText().toString().trim();
         String emergencyContact = binding.etEmergencyContact.getText().toString().trim();
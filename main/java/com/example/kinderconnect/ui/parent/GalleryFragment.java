@@ -41,7 +41,7 @@ public class GalleryFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
 
         viewModel = new ViewModelProvider(this).get(ParentViewModel.class);
-        preferencesManager = new PreferencesManager(requireContext()); // <-- AÑADIDO
+        preferencesManager = PreferencesManager.getInstance(requireContext()); // <-- AÑADIDO
 
         // --- INICIO DE CÓDIGO MODIFICADO ---
         if (getArguments() != null && getArguments().getString("groupName") != null) {
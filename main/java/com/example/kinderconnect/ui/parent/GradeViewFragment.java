@@ -42,7 +42,7 @@ public class GradeViewFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
 
         viewModel = new ViewModelProvider(this).get(ParentViewModel.class);
-        preferencesManager = new PreferencesManager(requireContext()); // <-- AÑADIDO
+        preferencesManager = PreferencesManager.getInstance(requireContext()); // <-- AÑADIDO
 
         // --- INICIO DE CÓDIGO MODIFICADO ---
         // Lógica para determinar el alumno
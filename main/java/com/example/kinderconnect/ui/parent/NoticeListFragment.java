@@ -37,7 +37,7 @@ public class NoticeListFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
 
         viewModel = new ViewModelProvider(this).get(ParentViewModel.class);
-        preferencesManager = new PreferencesManager(requireContext());
+        preferencesManager = PreferencesManager.getInstance(requireContext());
 
         // --- INICIO DE CÓDIGO MODIFICADO ---
         if (getArguments() != null && getArguments().getString("groupName") != null) {
@@ -69,7 +69,9 @@ public class NoticeListFragment extends Fragment {
         binding.recyclerView.setAdapter(adapter);
 
         adapter.setOnItemClickListener(notice -> {
-            viewModel.markNoticeAsRead(notice.getNoticeId(), preferencesManager.getUserId());
+            if (!notice.isReadByUser(preferencesManager.getUserId())) {
+                viewModel.markNoticeAsRead(notice.getNoticeId(), preferencesManager.getUserId());
+            }
             Bundle args = new Bundle();
             args.putString("noticeId", notice.getNoticeId());
             Navigation.findNavController(binding.getRoot())
@@ -90,7 +92,7 @@ public class NoticeListFragment extends Fragment {
 
         // --- INICIO DE CÓDIGO MODIFICADO ---
         // Se llama al nuevo método que trae avisos del grupo Y de la escuela
-        viewModel.getNoticesForParent(studentGroupName).observe(getViewLifecycleOwner(), resource -> {
+        viewModel.getNoticesForParent(studentGroupName, preferencesManager.getUserId()).observe(getViewLifecycleOwner(), resource -> {
             // --- FIN DE CÓDIGO MODIFICADO ---
 
             if (binding == null) return;
@@ -19,6 +19,7 @@ import com.example.kinderconnect.data.model.Student;
 import com.example.kinderconnect.utils.DateUtils;
 import com.google.firebase.messaging.FirebaseMessaging;
 
+import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -44,7 +45,7 @@ public class ParentHomeFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
 
         viewModel = new ViewModelProvider(this).get(ParentViewModel.class);
-        preferencesManager = new PreferencesManager(requireContext());
+        preferencesManager = PreferencesManager.getInstance(requireContext());
 
         setupListeners();
         loadStudentData();
@@ -232,27 +233,17 @@ public class ParentHomeFragment extends Fragment {
 
         binding.tvAttendancePercentage.setText("0%");
 
-        viewModel.getAttendanceByStudent(
+        // Un solo documento con el resumen del mes en lugar de todas las asistencias
+        viewModel.getMonthlySummary(
                 currentStudent.getStudentId(),
-                DateUtils.getStartOfMonth(),
-                DateUtils.getEndOfMonth()
+                DateUtils.formatMonthKey(new Date())
         ).observe(getViewLifecycleOwner(), resource -> {
+            if (binding == null) return;
             if (resource != null && resource.getStatus() ==
-                    com.example.kinderconnect.utils.Resource.Status.SUCCESS) {
-
-                if (resource.getData() != null) {
-                    int total = resource.getData().size();
-                    int present = 0;
-
-                    for (var attendance : resource.getData()) {
-                        if ("PRESENT".equals(attendance.getStatus())) {
-                            present++;
-                        }
-                    }
-
-                    int percentage = total > 0 ? (present * 100) / total : 0;
-                    binding.tvAttendancePercentage.setText(percentage + "%");
-                }
+                    com.example.kinderconnect.utils.Resource.Status.SUCCESS
+                    && resource.getData() != null) {
+                binding.tvAttendancePercentage.setText(
+                        resource.getData().getPresentPercentage() + "%");
             }
         });
     }
@@ -262,22 +253,14 @@ public class ParentHomeFragment extends Fragment {
 
         binding.tvUnreadNotices.setText("0");
 
-        viewModel.getNoticesByGroup(currentStudent.getGroupName())
+        // Un solo documento con el contador precalculado (users/{uid}/counters/notices)
+        viewModel.getUnreadNoticeCount(preferencesManager.getUserId())
                 .observe(getViewLifecycleOwner(), resource -> {
+                    if (binding == null) return;
                     if (resource != null && resource.getStatus() ==
-                            com.example.kinderconnect.utils.Resource.Status.SUCCESS) {
-
-                        if (resource.getData() != null) {
-                            int unreadCount = 0;
-                            String userId = preferencesManager.getUserId();
-
-                            for (var notice : resource.getData()) {
-                                if (!notice.isReadByUser(userId)) {
-                                    unreadCount++;
-                                }
-                            }
-                            binding.tvUnreadNotices.setText(String.valueOf(unreadCount));
-                        }
+                            com.example.kinderconnect.utils.Resource.Status.SUCCESS
+                            && resource.getData() != null) {
+                        binding.tvUnreadNotices.setText(String.valueOf(resource.getData()));
                     }
                 });
     }
@@ -6,6 +6,7 @@ import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 import com.example.kinderconnect.data.model.Attendance;
+import com.example.kinderconnect.data.model.AttendanceSummary;
 import com.example.kinderconnect.data.model.BusStatus;
 import com.example.kinderconnect.data.model.GalleryItem;
 import com.example.kinderconnect.data.model.Grade;
@@ -123,6 +124,10 @@ public class ParentViewModel extends ViewModel {
     }
 
     // --- Asistencia ---
+    public LiveData<Resource<AttendanceSummary>> getMonthlySummary(String studentId, String yearMonth) {
+        return attendanceRepository.getMonthlySummary(studentId, yearMonth);
+    }
+
     public LiveData<Resource<List<Attendance>>> getAttendanceByStudent(String studentId,
                                                                        Date startDate,
                                                                        Date endDate) {
@@ -139,8 +144,8 @@ public class ParentViewModel extends ViewModel {
     }
 
     // --- Avisos ---
-    public LiveData<Resource<List<Notice>>> getNoticesForParent(String groupName) {
-        return noticeRepository.getNoticesForParent(groupName);
+    public LiveData<Resource<List<Notice>>> getNoticesForParent(String groupName, String userId) {
+        return noticeRepository.withReadState(noticeRepository.getNoticesForParent(groupName), userId);
     }
 
     public LiveData<Resource<List<Notice>>> getNoticesByGroup(String groupName) {
@@ -151,6 +156,10 @@ public class ParentViewModel extends ViewModel {
         return noticeRepository.getAllNotices();
     }
 
+    public LiveData<Resource<Long>> getUnreadNoticeCount(String userId) {
+        return noticeRepository.getUnreadNoticeCount(userId);
+    }
+
     public LiveData<Resource<Void>> markNoticeAsRead(String noticeId, String userId) {
         return noticeRepository.markAsRead(noticeId, userId);
     }
@@ -12,6 +12,7 @@ import com.example.kinderconnect.databinding.ItemNoticeBinding;
 import com.example.kinderconnect.data.model.Notice;
 import com.example.kinderconnect.utils.Constants;
 import com.example.kinderconnect.utils.DateUtils;
+import java.util.Objects;
 
 public class NoticeAdapter extends ListAdapter<Notice, NoticeAdapter.NoticeViewHolder> {
     private OnItemClickListener listener;
@@ -44,7 +45,8 @@ public class NoticeAdapter extends ListAdapter<Notice, NoticeAdapter.NoticeViewH
 
                 @Override
                 public boolean areContentsTheSame(@NonNull Notice oldItem, @NonNull Notice newItem) {
-                    return oldItem.getTitle().equals(newItem.getTitle());
+                    return oldItem.getTitle().equals(newItem.getTitle())
+                            && Objects.equals(oldItem.getReadBy(), newItem.getReadBy());
                 }
             };
 
@@ -17,6 +17,7 @@ import com.example.kinderconnect.data.model.Student;
 import com.example.kinderconnect.ui.teacher.adapters.AttendanceAdapter;
 import com.example.kinderconnect.utils.Constants;
 import com.example.kinderconnect.utils.DateUtils;
+import com.example.kinderconnect.utils.Resource;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
@@ -33,11 +34,6 @@ public class AttendanceFragment extends Fragment {
     private Date selectedDate;
     private Map<String, String> attendanceMap = new HashMap<>();
 
-    // --- NUEVO ---
-    // Controlar que el observer de guardado no se llame múltiples veces
-    private List<String> savedCount = new ArrayList<>();
-    // --- FIN NUEVO ---
-
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, ViewGroup container,
                              Bundle savedInstanceState) {
@@ -50,7 +46,7 @@ public class AttendanceFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
 
         viewModel = new ViewModelProvider(this).get(TeacherViewModel.class);
-        preferencesManager = new PreferencesManager(requireContext());
+        preferencesManager = PreferencesManager.getInstance(requireContext());
         selectedDate = DateUtils.getToday();
 
         setupUI();
@@ -183,7 +179,6 @@ public class AttendanceFragment extends Fragment {
         }
     }
 
-    // --- INICIO DE CÓDIGO MODIFICADO ---
     private void saveAttendance() {
         if (attendanceMap.isEmpty()) {
             Toast.makeText(requireContext(), "No hay asistencias para guardar",
@@ -196,51 +191,26 @@ public class AttendanceFragment extends Fragment {
 
         String teacherId = preferencesManager.getUserId();
 
-        // Limpiamos la lista de conteo ANTES de empezar a guardar
-        savedCount.clear();
-
-        for (Map.Entry<String, String> entry : attendanceMap.entrySet()) {
-            Attendance attendance = new Attendance(
-                    entry.getKey(),
-                    teacherId,
-                    // new Date(),  // <-- ESTO ERA INCORRECTO
-                    selectedDate,  // <-- ESTA ES LA CORRECCIÓN
-                    entry.getValue()
-            );
-
-            // Usamos 'observe' en lugar de 'observeForever'
-            viewModel.recordAttendance(attendance).observe(getViewLifecycleOwner(), resource -> {
-                // Validar que el binding no sea nulo
-                if (binding == null) return;
-
-                // Solo nos importa la primera respuesta (SUCCESS o ERROR)
-                if (resource == null || resource.getStatus() == com.example.kinderconnect.utils.Resource.Status.LOADING) {
-                    return; // Ignorar si está cargando
-                }
-
-                // Usamos el ID del alumno para contar, ya que es único en el map
-                if (!savedCount.contains(entry.getKey())) {
-                    if (resource.getStatus() == com.example.kinderconnect.utils.Resource.Status.SUCCESS) {
-                        savedCount.add(entry.getKey());
-                    } else if (resource.getStatus() == com.example.kinderconnect.utils.Resource.Status.ERROR) {
-                        // Opcional: manejar error por cada alumno
-                        savedCount.add(entry.getKey()); // Lo contamos igual para que el bucle termine
-                        Toast.makeText(requireContext(), "Error guardando: " + resource.getMessage(), Toast.LENGTH_SHORT).show();
+        // Todo el grupo se guarda en un solo batch y con un solo callback
+        viewModel.upsertClassAttendance(teacherId, selectedDate, new HashMap<>(attendanceMap))
+                .observe(getViewLifecycleOwner(), resource -> {
+                    if (binding == null || resource == null) return;
+
+                    if (resource.getStatus() == Resource.Status.SUCCESS) {
+                        binding.progressBar.setVisibility(View.GONE);
+                        binding.btnSaveAndNotify.setEnabled(true);
+                        Toast.makeText(requireContext(),
+                                "Asistencia guardada correctamente",
+                                Toast.LENGTH_SHORT).show();
+                    } else if (resource.getStatus() == Resource.Status.ERROR) {
+                        binding.progressBar.setVisibility(View.GONE);
+                        binding.btnSaveAndNotify.setEnabled(true);
+                        Toast.makeText(requireContext(),
+                                "Error guardando: " + resource.getMessage(),
+                                Toast.LENGTH_SHORT).show();
                     }
-                }
-
-                // Cuando todos han sido procesados (exitosos o no)
-                if (savedCount.size() == attendanceMap.size()) {
-                    binding.progressBar.setVisibility(View.GONE);
-                    binding.btnSaveAndNotify.setEnabled(true);
-                    Toast.makeText(requireContext(),
-                            "Asistencia guardada correctamente",
-                            Toast.LENGTH_SHORT).show();
-                }
-            });
-        }
+                });
     }
-    // --- FIN DE CÓDIGO MODIFICADO ---
 
     @Override
     public void onDestroyView() {
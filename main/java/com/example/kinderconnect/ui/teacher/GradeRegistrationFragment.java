@@ -5,11 +5,15 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ArrayAdapter;
+import android.widget.EditText;
 import android.widget.RadioButton;
+import android.widget.RadioGroup;
 import android.widget.Toast;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.appcompat.app.AlertDialog;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.LiveData;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.Navigation;
 
@@ -18,6 +22,8 @@ import com.example.kinderconnect.databinding.FragmentGradeRegistrationBinding;
 import com.example.kinderconnect.data.local.PreferencesManager;
 import com.example.kinderconnect.data.model.Grade;
 import com.example.kinderconnect.utils.Constants;
+import com.example.kinderconnect.utils.Resource;
+import com.example.kinderconnect.utils.ValidationUtils;
 
 public class GradeRegistrationFragment extends Fragment {
     private FragmentGradeRegistrationBinding binding;
@@ -26,6 +32,20 @@ public class GradeRegistrationFragment extends Fragment {
     private String studentId;
     private int selectedPeriod = 1;
     private Grade currentGrade;
+    private LiveData<Resource<Grade>> gradeSource;
+    // Versión con la que se llenó el formulario, para saber si la maestra ya lo editó
+    private Grade filledGrade;
+    private boolean gradeFilled = false;
+    private boolean serverChanged = false;
+
+    private static final int[] SUPPORT_BUTTONS = {R.id.rbArea1Support, R.id.rbArea2Support,
+            R.id.rbArea3Support, R.id.rbArea4Support, R.id.rbArea5Support, R.id.rbArea6Support};
+    private static final int[] DEVELOPING_BUTTONS = {R.id.rbArea1Developing, R.id.rbArea2Developing,
+            R.id.rbArea3Developing, R.id.rbArea4Developing, R.id.rbArea5Developing, R.id.rbArea6Developing};
+    private static final int[] EXPECTED_BUTTONS = {R.id.rbArea1Expected, R.id.rbArea2Expected,
+            R.id.rbArea3Expected, R.id.rbArea4Expected, R.id.rbArea5Expected, R.id.rbArea6Expected};
+    private static final int[] OUTSTANDING_BUTTONS = {R.id.rbArea1Outstanding, R.id.rbArea2Outstanding,
+            R.id.rbArea3Outstanding, R.id.rbArea4Outstanding, R.id.rbArea5Outstanding, R.id.rbArea6Outstanding};
     private String[] periods; // --- AÑADIDO ---
 
     @Override
@@ -40,7 +60,7 @@ public class GradeRegistrationFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
 
         viewModel = new ViewModelProvider(this).get(TeacherViewModel.class);
-        preferencesManager = new PreferencesManager(requireContext());
+        preferencesManager = PreferencesManager.getInstance(requireContext());
 
         if (getArguments() != null) {
             studentId = getArguments().getString("studentId");
@@ -84,29 +104,106 @@ public class GradeRegistrationFragment extends Fragment {
 
         binding.progressBar.setVisibility(View.VISIBLE);
 
-        viewModel.getGradeByStudentAndPeriod(studentId, selectedPeriod)
-                .observe(getViewLifecycleOwner(), resource -> {
-                    if (resource != null && resource.getStatus() ==
-                            com.example.kinderconnect.utils.Resource.Status.SUCCESS) {
-
-                        binding.progressBar.setVisibility(View.GONE);
-                        currentGrade = resource.getData();
+        // Al cambiar de periodo se deja de escuchar la lectura anterior
+        if (gradeSource != null) {
+            gradeSource.removeObservers(getViewLifecycleOwner());
+        }
+        gradeFilled = false;
+        serverChanged = false;
+        gradeSource = viewModel.getGradeByStudentAndPeriod(studentId, selectedPeriod);
+        gradeSource.observe(getViewLifecycleOwner(), resource -> {
+            if (resource != null && resource.getStatus() == Resource.Status.SUCCESS) {
+                binding.progressBar.setVisibility(View.GONE);
+                Grade grade = resource.getData();
+                if (!gradeFilled || formMatches(filledGrade)) {
+                    // Sin cambios de la maestra: se llena (o refresca) con la versión más nueva
+                    showGrade(grade);
+                } else if (!formMatches(grade)) {
+                    // Ya capturó y el servidor trae otra versión: no se pisa, se avisa al guardar
+                    serverChanged = true;
+                    Toast.makeText(requireContext(), "Esta evaluación cambió mientras la editabas",
+                            Toast.LENGTH_SHORT).show();
+                }
+                currentGrade = grade;
+            }
+        });
+    }
 
-                        if (currentGrade != null) {
-                            loadGradeData();
-                        } else {
-                            clearGradeData(); // Limpiar campos si no hay datos
-                        }
-                    }
-                });
+    private void showGrade(Grade grade) {
+        currentGrade = grade;
+        filledGrade = grade;
+        gradeFilled = true;
+        if (currentGrade != null) {
+            loadGradeData();
+        } else {
+            clearGradeData(); // Limpiar campos si no hay datos
+        }
     }
 
     private void loadGradeData() {
-        if (currentGrade != null && currentGrade.getEvaluations() != null) {
-            // Implementar lógica para cargar las evaluaciones en los RadioButtons
-            // (Esta lógica parece faltar en el original, pero el guardado sí funciona)
-            // Por ahora, nos aseguramos de que el guardado funcione.
+        clearGradeData();
+        if (currentGrade == null || currentGrade.getEvaluations() == null) return;
+
+        RadioGroup[] groups = areaGroups();
+        EditText[] observations = observationFields();
+        for (int i = 0; i < groups.length; i++) {
+            Grade.AreaEvaluation evaluation = currentGrade.getEvaluations().get("area" + (i + 1));
+            if (evaluation == null) continue;
+            int buttonId = levelButtonId(i, evaluation.getLevel());
+            if (buttonId != -1) groups[i].check(buttonId);
+            observations[i].setText(evaluation.getObservations());
+        }
+    }
+
+    // true si el formulario muestra exactamente esta evaluación (null = formulario vacío)
+    private boolean formMatches(Grade grade) {
+        RadioGroup[] groups = areaGroups();
+        EditText[] observations = observationFields();
+        for (int i = 0; i < groups.length; i++) {
+            Grade.AreaEvaluation evaluation = grade != null && grade.getEvaluations() != null
+                    ? grade.getEvaluations().get("area" + (i + 1)) : null;
+            int expectedButton = evaluation != null ? levelButtonId(i, evaluation.getLevel()) : -1;
+            if (groups[i].getCheckedRadioButtonId() != expectedButton) return false;
+            if (!ValidationUtils.sameText(observations[i].getText(),
+                    evaluation != null ? evaluation.getObservations() : null)) return false;
         }
+        return true;
+    }
+
+    // La evaluación cambió en el servidor después de que la maestra empezó a capturar
+    private void confirmOverwrite() {
+        new AlertDialog.Builder(requireContext())
+                .setTitle("Evaluación actualizada")
+                .setMessage("Esta evaluación se modificó mientras la editabas. "
+                        + "¿Guardar tus cambios de todos modos o recargar la evaluación?")
+                .setPositiveButton("Guardar", (dialog, which) -> {
+                    serverChanged = false;
+                    saveGrade();
+                })
+                .setNegativeButton("Recargar", (dialog, which) -> {
+                    serverChanged = false;
+                    showGrade(currentGrade);
+                })
+                .show();
+    }
+
+    private RadioGroup[] areaGroups() {
+        return new RadioGroup[]{binding.rgArea1, binding.rgArea2, binding.rgArea3,
+                binding.rgArea4, binding.rgArea5, binding.rgArea6};
+    }
+
+    private EditText[] observationFields() {
+        return new EditText[]{binding.etObservations1, binding.etObservations2, binding.etObservations3,
+                binding.etObservations4, binding.etObservations5, binding.etObservations6};
+    }
+
+    // RadioButton del área (0..5) que corresponde al nivel guardado
+    private static int levelButtonId(int area, String level) {
+        if (Constants.GRADE_REQUIERE_APOYO.equals(level)) return SUPPORT_BUTTONS[area];
+        if (Constants.GRADE_EN_DESARROLLO.equals(level)) return DEVELOPING_BUTTONS[area];
+        if (Constants.GRADE_ESPERADO.equals(level)) return EXPECTED_BUTTONS[area];
+        if (Constants.GRADE_SOBRESALIENTE.equals(level)) return OUTSTANDING_BUTTONS[area];
+        return -1;
     }
 
     // --- NUEVO MÉTODO AÑADIDO ---
@@ -130,6 +227,11 @@ public class GradeRegistrationFragment extends Fragment {
 
 
     private void saveGrade() {
+        if (serverChanged) {
+            confirmOverwrite();
+            return;
+        }
+
         String teacherId = preferencesManager.getUserId();
 
         Grade grade = new Grade(studentId, teacherId, selectedPeriod);
@@ -13,6 +13,7 @@ import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.appcompat.app.AlertDialog;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.Navigation;
@@ -21,6 +22,7 @@ import com.example.kinderconnect.data.local.PreferencesManager;
 import com.example.kinderconnect.data.model.Notice;
 import com.example.kinderconnect.utils.Constants;
 import com.example.kinderconnect.utils.Resource;
+import com.example.kinderconnect.utils.ValidationUtils;
 import java.util.Calendar;
 
 public class PublishNoticeFragment extends Fragment {
@@ -38,6 +40,10 @@ public class PublishNoticeFragment extends Fragment {
     private String existingNoticeId = null;
     private Notice noticeToEdit = null;
     private boolean isEditMode = false;
+    // Versión con la que se llenó el formulario, para saber si la maestra ya lo editó
+    private Notice filledNotice = null;
+    private boolean serverChanged = false;
+    private Long readReceiptCount = null;
     // --- FIN DE CÓDIGO AÑADIDO ---
 
 
@@ -78,7 +84,7 @@ public class PublishNoticeFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
 
         viewModel = new ViewModelProvider(this).get(TeacherViewModel.class);
-        preferencesManager = new PreferencesManager(requireContext());
+        preferencesManager = PreferencesManager.getInstance(requireContext());
 
         setupToolbar();
         setupDropdowns();
@@ -94,6 +100,7 @@ public class PublishNoticeFragment extends Fragment {
             binding.toolbar.setTitle("Editar Aviso");
             binding.btnPublish.setText("Actualizar Aviso");
             loadNoticeData();
+            loadReadCount();
         } else {
             binding.toolbar.setTitle("Publicar Aviso");
             binding.btnPublish.setText("Publicar");
@@ -176,9 +183,20 @@ public class PublishNoticeFragment extends Fragment {
                     break;
                 case SUCCESS:
                     binding.progressBar.setVisibility(View.GONE);
-                    noticeToEdit = resource.getData();
-                    if (noticeToEdit != null) {
-                        populateUi(noticeToEdit);
+                    Notice notice = resource.getData();
+                    if (notice != null) {
+                        if (filledNotice == null || formMatches(filledNotice)) {
+                            // Sin cambios de la maestra: se llena (o refresca) con lo más nuevo
+                            populateUi(notice);
+                            filledNotice = notice;
+                        } else if (!formMatches(notice)) {
+                            // Ya editó y el servidor trae otra versión: no se pisa, se avisa al guardar
+                            serverChanged = true;
+                            Toast.makeText(requireContext(), "Este aviso cambió mientras lo editabas",
+                                    Toast.LENGTH_SHORT).show();
+                        }
+                        noticeToEdit = notice;
+                        showReadCount();
                     } else {
                         Toast.makeText(requireContext(), "No se pudo cargar el aviso", Toast.LENGTH_SHORT).show();
                         Navigation.findNavController(binding.getRoot()).navigateUp();
@@ -193,6 +211,56 @@ public class PublishNoticeFragment extends Fragment {
         });
     }
 
+    // Cuántos padres ya leyeron el aviso (contador por shards)
+    private void loadReadCount() {
+        viewModel.getNoticeReadCount(existingNoticeId).observe(getViewLifecycleOwner(), resource -> {
+            if (binding == null || resource == null) return;
+            if (resource.getStatus() == Resource.Status.SUCCESS && resource.getData() != null) {
+                readReceiptCount = resource.getData();
+                showReadCount();
+            }
+        });
+    }
+
+    // Suma las lecturas guardadas en readBy por avisos viejos, que no pasaron por el contador
+    private void showReadCount() {
+        if (binding == null || readReceiptCount == null) return;
+        long count = readReceiptCount;
+        if (noticeToEdit != null && noticeToEdit.getReadBy() != null) {
+            count += noticeToEdit.getReadBy().size();
+        }
+        binding.tvReadCount.setText(count == 1
+                ? "Leído por 1 padre" : "Leído por " + count + " padres");
+        binding.tvReadCount.setVisibility(View.VISIBLE);
+    }
+
+    private boolean formMatches(Notice notice) {
+        return selectedImageUri == null
+                && ValidationUtils.sameText(binding.etTitle.getText(), notice.getTitle())
+                && ValidationUtils.sameText(binding.etDescription.getText(), notice.getDescription())
+                && ValidationUtils.sameText(binding.actCategory.getText(), getCategoryString(notice.getCategory()))
+                && ValidationUtils.sameText(binding.actScope.getText(), getScopeString(notice.getScope()));
+    }
+
+    // El aviso cambió en el servidor después de que la maestra empezó a editar
+    private void confirmOverwrite() {
+        new AlertDialog.Builder(requireContext())
+                .setTitle("Aviso actualizado")
+                .setMessage("Este aviso se modificó mientras lo editabas. "
+                        + "¿Guardar tus cambios de todos modos o recargar el aviso?")
+                .setPositiveButton("Guardar", (dialog, which) -> {
+                    serverChanged = false;
+                    saveNotice();
+                })
+                .setNegativeButton("Recargar", (dialog, which) -> {
+                    serverChanged = false;
+                    selectedImageUri = null;
+                    populateUi(noticeToEdit);
+                    filledNotice = noticeToEdit;
+                })
+                .show();
+    }
+
     private void populateUi(Notice notice) {
         binding.etTitle.setText(notice.getTitle());
         binding.etDescription.setText(notice.getDescription());
@@ -213,6 +281,11 @@ public class PublishNoticeFragment extends Fragment {
 
     // --- MÉTODO 'publishNotice' RENOMBRADO Y MODIFICADO ---
     private void saveNotice() {
+        if (isEditMode && serverChanged) {
+            confirmOverwrite();
+            return;
+        }
+
         String title = binding.etTitle.getText().toString().trim();
         String description = binding.etDescription.getText().toString().trim();
 
@@ -302,9 +375,14 @@ public class PublishNoticeFragment extends Fragment {
                     break;
                 case ERROR:
                     binding.progressBar.setVisibility(View.GONE);
-                    binding.btnPublish.setEnabled(true);
                     Toast.makeText(requireContext(), resource.getMessage(),
                             Toast.LENGTH_SHORT).show();
+                    if (resource.getData() != null) {
+                        // El aviso sí se guardó; volver a publicarlo lo duplicaría
+                        Navigation.findNavController(binding.getRoot()).navigateUp();
+                    } else {
+                        binding.btnPublish.setEnabled(true);
+                    }
                     break;
             }
         }
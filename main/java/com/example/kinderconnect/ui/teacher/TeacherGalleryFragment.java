@@ -6,6 +6,7 @@ import android.net.Uri; // <-- AÑADIDO
 import android.os.Bundle;
 import android.os.Environment;
 import android.provider.MediaStore;
+import android.text.format.Formatter;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -19,6 +20,7 @@ import androidx.core.content.FileProvider;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.work.WorkInfo;
 import com.example.kinderconnect.R;
 import com.example.kinderconnect.databinding.FragmentTeacherGalleryBinding;
 import com.example.kinderconnect.data.local.PreferencesManager;
@@ -27,12 +29,18 @@ import com.example.kinderconnect.ui.adapters.GalleryAdapter;
 import com.example.kinderconnect.utils.Constants;
 import com.example.kinderconnect.utils.PermissionManager;
 import com.example.kinderconnect.utils.Resource;
+import com.example.kinderconnect.workers.MediaUploadWorker;
+import com.example.kinderconnect.workers.SaveGalleryItemWorker;
+import com.example.kinderconnect.workers.UploadOriginalWorker;
 
 import java.io.File;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
 
 public class TeacherGalleryFragment extends Fragment {
     private FragmentTeacherGalleryBinding binding;
@@ -45,6 +53,8 @@ public class TeacherGalleryFragment extends Fragment {
     private Uri capturedPhotoUri;
     private String selectedMediaType;
     private String teacherGroupName = null;
+    // Ids de WorkInfo vistos sin terminar; al terminar se avisa una sola vez
+    private final Set<UUID> pendingUploads = new HashSet<>();
 
     @Override
     public void onCreate(@Nullable Bundle savedInstanceState) {
@@ -86,10 +96,11 @@ public class TeacherGalleryFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
 
         viewModel = new ViewModelProvider(this).get(TeacherViewModel.class);
-        preferencesManager = new PreferencesManager(requireContext());
+        preferencesManager = PreferencesManager.getInstance(requireContext());
 
         setupRecyclerView();
         setupListeners();
+        observeUploads();
 
         binding.fabAddMedia.setEnabled(false);
         loadTeacherGroup();
@@ -289,32 +300,74 @@ public class TeacherGalleryFragment extends Fragment {
         );
         galleryItem.setGroupName(teacherGroupName);
 
-        binding.progressBar.setVisibility(View.VISIBLE);
-        binding.fabAddMedia.setEnabled(false);
+        // La subida sigue en WorkManager aunque se salga de la pantalla; observeUploads() la muestra
+        viewModel.uploadMedia(galleryItem, selectedMediaUri, requireContext());
+        Toast.makeText(requireContext(), "Subiendo contenido...", Toast.LENGTH_SHORT).show();
+    }
 
-        viewModel.uploadMedia(galleryItem, selectedMediaUri, requireContext())
-                .observe(getViewLifecycleOwner(), resource -> {
-                    if (resource != null) {
-                        switch (resource.getStatus()) {
-                            case LOADING:
-                                break;
-                            case SUCCESS:
-                                binding.progressBar.setVisibility(View.GONE);
-                                binding.fabAddMedia.setEnabled(true);
-                                Toast.makeText(requireContext(),
-                                        "Contenido subido correctamente",
-                                        Toast.LENGTH_SHORT).show();
-                                break;
-
-                            case ERROR:
-                                binding.progressBar.setVisibility(View.GONE);
-                                binding.fabAddMedia.setEnabled(true);
-                                Toast.makeText(requireContext(), resource.getMessage(),
-                                        Toast.LENGTH_SHORT).show();
-                                break;
-                        }
+    /**
+     * Refleja las subidas encoladas en WorkManager. Solo se avisa del resultado de las que
+     * se vieron en curso durante esta vista, para no repetir avisos de subidas antiguas.
+     */
+    private void observeUploads() {
+        viewModel.getMediaUploads(requireContext()).observe(getViewLifecycleOwner(), workInfos -> {
+            if (binding == null || workInfos == null) return;
+
+            boolean uploading = false;
+            WorkInfo running = null;
+            for (WorkInfo info : workInfos) {
+                if (!info.getState().isFinished()) {
+                    uploading = true;
+                    pendingUploads.add(info.getId());
+                    // Con las dos subidas en curso se muestra la del original, que es la larga
+                    if (info.getState() == WorkInfo.State.RUNNING && (running == null
+                            || info.getTags().contains(UploadOriginalWorker.class.getName()))) {
+                        running = info;
                     }
-                });
+                } else if (pendingUploads.remove(info.getId())) {
+                    notifyUploadFinished(info);
+                }
+            }
+
+            int percent = running != null
+                    ? running.getProgress().getInt(MediaUploadWorker.PROGRESS_PERCENT, -1) : -1;
+            binding.uploadProgress.setVisibility(uploading ? View.VISIBLE : View.GONE);
+            binding.uploadProgress.setIndeterminate(percent < 0);
+            if (percent >= 0) binding.uploadProgress.setProgress(percent);
+
+            String status = running != null ? formatUploadStatus(running) : null;
+            binding.tvUploadStatus.setVisibility(status != null ? View.VISIBLE : View.GONE);
+            binding.tvUploadStatus.setText(status);
+        });
+    }
+
+    // "1.2 MB/s · faltan 45 s" mientras se suben bytes; null en los demás pasos
+    @Nullable
+    private String formatUploadStatus(WorkInfo info) {
+        long bytesPerSecond = info.getProgress().getLong(MediaUploadWorker.PROGRESS_BYTES_PER_SECOND, 0);
+        if (bytesPerSecond <= 0) return null;
+
+        String status = Formatter.formatShortFileSize(requireContext(), bytesPerSecond) + "/s";
+        long etaSeconds = info.getProgress().getLong(MediaUploadWorker.PROGRESS_ETA_SECONDS, -1);
+        if (etaSeconds >= 0) {
+            status += etaSeconds >= 60
+                    ? " · faltan " + (etaSeconds / 60) + " min"
+                    : " · faltan " + etaSeconds + " s";
+        }
+        return status;
+    }
+
+    private void notifyUploadFinished(WorkInfo info) {
+        if (info.getState() == WorkInfo.State.FAILED) {
+            String error = info.getOutputData().getString(MediaUploadWorker.KEY_ERROR);
+            // Los pasos que no llegaron a ejecutarse también quedan FAILED, sin mensaje
+            if (error != null) {
+                Toast.makeText(requireContext(), "Error al subir: " + error, Toast.LENGTH_SHORT).show();
+            }
+        } else if (info.getState() == WorkInfo.State.SUCCEEDED
+                && info.getTags().contains(SaveGalleryItemWorker.class.getName())) {
+            Toast.makeText(requireContext(), "Contenido subido correctamente", Toast.LENGTH_SHORT).show();
+        }
     }
 
     private void loadGallery() {
@@ -27,8 +27,6 @@ import com.example.kinderconnect.utils.Resource;
 
 // --- INICIO DE IMPORTACIONES AÑADIDAS ---
 import com.example.kinderconnect.utils.DateUtils;
-import java.text.SimpleDateFormat;
-import java.util.Locale;
 // --- FIN DE IMPORTACIONES AÑADIDAS ---
 
 public class TeacherHomeFragment extends Fragment {
@@ -49,7 +47,7 @@ public class TeacherHomeFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
 
         viewModel = new ViewModelProvider(this).get(TeacherViewModel.class);
-        preferencesManager = new PreferencesManager(requireContext());
+        preferencesManager = PreferencesManager.getInstance(requireContext());
 
         setupUI();
         setupNavigationListeners();
@@ -289,36 +287,25 @@ public class TeacherHomeFragment extends Fragment {
 
         Log.d(TAG, "Cargando datos del dashboard...");
 
-        // 1. Cargar total de alumnos
-        viewModel.getStudentsByTeacher(teacherId).observe(getViewLifecycleOwner(), resource -> {
+        // 1. Total de alumnos con una consulta count() (no descarga la lista)
+        viewModel.countStudentsByTeacher(teacherId).observe(getViewLifecycleOwner(), resource -> {
             if (binding == null) return;
             if (resource != null && resource.getStatus() == Resource.Status.SUCCESS) {
-                int studentCount = (resource.getData() != null) ? resource.getData().size() : 0;
+                long studentCount = (resource.getData() != null) ? resource.getData() : 0;
                 binding.tvTotalStudents.setText(String.valueOf(studentCount));
                 Log.d(TAG, "Total de alumnos cargado: " + studentCount);
             } else if (resource != null && resource.getStatus() == Resource.Status.ERROR){
                 binding.tvTotalStudents.setText("-");
-                Log.e(TAG, "Error al cargar lista de estudiantes: " + resource.getMessage());
+                Log.e(TAG, "Error al contar estudiantes: " + resource.getMessage());
             }
         });
 
-        // 2. Cargar asistencia de HOY
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
-        String todayStr = sdf.format(DateUtils.getToday());
-
-        viewModel.getAttendanceByDate(teacherId, todayStr).observe(getViewLifecycleOwner(), resource -> {
+        // 2. Asistencia de HOY desde el resumen diario del grupo (un solo documento)
+        viewModel.getClassDailySummary(teacherId, DateUtils.getToday()).observe(getViewLifecycleOwner(), resource -> {
             if (binding == null) return;
             if (resource != null && resource.getStatus() == Resource.Status.SUCCESS) {
                 // Contamos solo los que asistieron (Presente o Tarde)
-                int attendanceCount = 0;
-                if (resource.getData() != null) {
-                    for (com.example.kinderconnect.data.model.Attendance attendance : resource.getData()) {
-                        if (Constants.ATTENDANCE_PRESENT.equals(attendance.getStatus()) ||
-                                Constants.ATTENDANCE_LATE.equals(attendance.getStatus())) {
-                            attendanceCount++;
-                        }
-                    }
-                }
+                int attendanceCount = resource.getData() != null ? resource.getData().getAttended() : 0;
                 binding.tvTodayAttendance.setText(String.valueOf(attendanceCount));
                 Log.d(TAG, "Asistencia de hoy cargada: " + attendanceCount);
             } else if (resource != null && resource.getStatus() == Resource.Status.ERROR) {
@@ -1,17 +1,26 @@
 package com.example.kinderconnect.ui.teacher;
 
+import android.content.Intent;
 import android.os.Bundle;
+import android.util.Log;
 import android.view.MenuItem;
+import android.widget.Toast;
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.NavController;
 import androidx.navigation.fragment.NavHostFragment;
 import androidx.navigation.ui.NavigationUI;
 import com.example.kinderconnect.R;
+import com.example.kinderconnect.data.local.PreferencesManager;
 import com.example.kinderconnect.databinding.ActivityTeacherMainBinding;
+import com.example.kinderconnect.utils.Constants;
+import com.example.kinderconnect.utils.Resource;
+import com.example.kinderconnect.workers.SyncWorker;
 import com.google.android.material.navigation.NavigationBarView;
 
 public class TeacherMainActivity extends AppCompatActivity {
+    private static final String TAG = "TeacherMainActivity";
     private ActivityTeacherMainBinding binding;
     private NavController navController;
 
@@ -22,6 +31,57 @@ public class TeacherMainActivity extends AppCompatActivity {
         setContentView(binding.getRoot());
 
         setupNavigation();
+        migrateGradesIfNeeded();
+        migrateAttendanceIfNeeded();
+        retrySyncIfRequested(getIntent());
+    }
+
+    @Override
+    protected void onNewIntent(Intent intent) {
+        super.onNewIntent(intent);
+        retrySyncIfRequested(intent);
+    }
+
+    // Viene de la notificación de cambios sin sincronizar
+    private void retrySyncIfRequested(Intent intent) {
+        if (intent == null || !intent.getBooleanExtra(Constants.EXTRA_RETRY_SYNC, false)) return;
+        intent.removeExtra(Constants.EXTRA_RETRY_SYNC);
+        SyncWorker.retryDeadLetters(this);
+        Toast.makeText(this, "Reintentando sincronizar los cambios", Toast.LENGTH_SHORT).show();
+    }
+
+    // Junta una sola vez las calificaciones duplicadas de la maestra en IDs deterministas
+    private void migrateGradesIfNeeded() {
+        PreferencesManager preferencesManager = PreferencesManager.getInstance(this);
+        String teacherId = preferencesManager.getUserId();
+        if (teacherId == null || preferencesManager.isGradeMigrationDone(teacherId)) return;
+
+        TeacherViewModel viewModel = new ViewModelProvider(this).get(TeacherViewModel.class);
+        viewModel.migrateLegacyGrades(teacherId).observe(this, resource -> {
+            if (resource == null) return;
+            if (resource.getStatus() == Resource.Status.SUCCESS) {
+                preferencesManager.setGradeMigrationDone(teacherId);
+            } else if (resource.getStatus() == Resource.Status.ERROR) {
+                Log.e(TAG, "Migración de calificaciones pendiente: " + resource.getMessage());
+            }
+        });
+    }
+
+    // Igual para las asistencias con ID aleatorio; fuera del observer de lectura
+    private void migrateAttendanceIfNeeded() {
+        PreferencesManager preferencesManager = PreferencesManager.getInstance(this);
+        String teacherId = preferencesManager.getUserId();
+        if (teacherId == null || preferencesManager.isAttendanceMigrationDone(teacherId)) return;
+
+        TeacherViewModel viewModel = new ViewModelProvider(this).get(TeacherViewModel.class);
+        viewModel.migrateLegacyAttendance(teacherId).observe(this, resource -> {
+            if (resource == null) return;
+            if (resource.getStatus() == Resource.Status.SUCCESS) {
+                preferencesManager.setAttendanceMigrationDone(teacherId);
+            } else if (resource.getStatus() == Resource.Status.ERROR) {
+                Log.e(TAG, "Migración de asistencias pendiente: " + resource.getMessage());
+            }
+        });
     }
 
     private void setupNavigation() {
@@ -6,6 +6,7 @@ import androidx.annotation.Nullable;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
+import androidx.work.WorkInfo;
 import android.content.Context;
 import com.example.kinderconnect.data.model.*;
 import com.example.kinderconnect.data.repository.*;
@@ -15,6 +16,7 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Locale;
 
 public class TeacherViewModel extends ViewModel {
@@ -27,6 +29,7 @@ public class TeacherViewModel extends ViewModel {
     private final AuthRepository authRepository;
     private final GroupRepository groupRepository;
     private final NotificationRepository notificationRepository; // <-- AÑADIDO
+    private final CountRepository countRepository;
 
 
     public TeacherViewModel() {
@@ -39,6 +42,7 @@ public class TeacherViewModel extends ViewModel {
         this.authRepository = new AuthRepository();
         this.groupRepository = new GroupRepository();
         this.notificationRepository = new NotificationRepository(); // <-- AÑADIDO
+        this.countRepository = new CountRepository();
     }
 
     // --- (Métodos de Student, Group, Attendance, Grades, Notices, Gallery, Bus... sin cambios) ---
@@ -67,6 +71,10 @@ public class TeacherViewModel extends ViewModel {
         return studentRepository.getStudentsByTeacher(teacherId);
     }
 
+    public LiveData<Resource<Long>> countStudentsByTeacher(String teacherId) {
+        return countRepository.countStudentsByTeacher(teacherId);
+    }
+
     public LiveData<Resource<Void>> deleteStudent(String studentId) {
         return studentRepository.deleteStudent(studentId);
     }
@@ -106,9 +114,16 @@ public class TeacherViewModel extends ViewModel {
         }
         return attendanceRepository.getAttendanceByDate(teacherId, date);
     }
+    public LiveData<Resource<ClassDailySummary>> getClassDailySummary(String teacherId, Date day) {
+        return attendanceRepository.getClassDailySummary(teacherId, day);
+    }
     public LiveData<Resource<String>> recordAttendance(Attendance attendance) {
         return attendanceRepository.recordAttendance(attendance);
     }
+    public LiveData<Resource<Void>> upsertClassAttendance(String teacherId, Date day,
+                                                          Map<String, String> statusByStudent) {
+        return attendanceRepository.upsertClassAttendance(teacherId, day, statusByStudent);
+    }
 
     // --- Grades ---
     public LiveData<Resource<String>> saveGrade(Grade grade) {
@@ -117,6 +132,12 @@ public class TeacherViewModel extends ViewModel {
     public LiveData<Resource<Grade>> getGradeByStudentAndPeriod(String studentId, int period) {
         return gradeRepository.getGradeByStudentAndPeriod(studentId, period);
     }
+    public LiveData<Resource<Integer>> migrateLegacyGrades(String teacherId) {
+        return gradeRepository.migrateLegacyGrades(teacherId);
+    }
+    public LiveData<Resource<Integer>> migrateLegacyAttendance(String teacherId) {
+        return attendanceRepository.migrateLegacyAttendance(teacherId);
+    }
 
     // --- Notices ---
     public LiveData<Resource<String>> publishNotice(Notice notice, Uri imageUri) {
@@ -131,13 +152,19 @@ public class TeacherViewModel extends ViewModel {
     public LiveData<Resource<Notice>> getNoticeById(String noticeId) {
         return noticeRepository.getNoticeById(noticeId);
     }
+    public LiveData<Resource<Long>> getNoticeReadCount(String noticeId) {
+        return noticeRepository.getReadCount(noticeId);
+    }
     public LiveData<Resource<String>> updateNotice(Notice notice, @Nullable Uri newImageUri, @Nullable String oldImageUrl) {
         return noticeRepository.updateNotice(notice, newImageUri, oldImageUrl);
     }
 
     // --- Gallery ---
-    public LiveData<Resource<String>> uploadMedia(GalleryItem item, Uri mediaUri, Context context) {
-        return galleryRepository.uploadMedia(item, mediaUri, context.getApplicationContext());
+    public void uploadMedia(GalleryItem item, Uri mediaUri, Context context) {
+        galleryRepository.enqueueMediaUpload(context.getApplicationContext(), item, mediaUri);
+    }
+    public LiveData<List<WorkInfo>> getMediaUploads(Context context) {
+        return galleryRepository.getMediaUploads(context.getApplicationContext());
     }
     public LiveData<Resource<List<GalleryItem>>> getGalleryByGroup(String groupName) {
         return galleryRepository.getGalleryByGroup(groupName);
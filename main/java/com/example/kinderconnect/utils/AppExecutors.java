@@ -0,0 +1,60 @@
+package com.example.kinderconnect.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Executors compartidos por la app para no crear hilos sueltos en cada repositorio.
+ * diskIO es de un solo hilo para que las escrituras a Room se apliquen en orden.
+ * snapshotIO también es de un solo hilo: ahí se convierten los snapshots de Firestore
+ * a modelos, y un solo hilo garantiza que los resultados se publiquen en orden.
+ * mediaIO decodifica y comprime imágenes y fotogramas de video; el pool es pequeño
+ * porque cada tarea reserva bitmaps y más hilos solo subirían el pico de memoria.
+ */
+public class AppExecutors {
+    private static final int MEDIA_THREADS = 2;
+
+    private static volatile AppExecutors instance;
+
+    private final Executor diskIO;
+    private final Executor snapshotIO;
+    private final Executor mediaIO;
+    private final Executor mainThread;
+
+    private AppExecutors() {
+        this.diskIO = Executors.newSingleThreadExecutor();
+        this.snapshotIO = Executors.newSingleThreadExecutor();
+        this.mediaIO = Executors.newFixedThreadPool(MEDIA_THREADS);
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+        this.mainThread = mainHandler::post;
+    }
+
+    public static AppExecutors getInstance() {
+        if (instance == null) {
+            synchronized (AppExecutors.class) {
+                if (instance == null) {
+                    instance = new AppExecutors();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public Executor diskIO() {
+        return diskIO;
+    }
+
+    public Executor snapshotIO() {
+        return snapshotIO;
+    }
+
+    public Executor mediaIO() {
+        return mediaIO;
+    }
+
+    public Executor mainThread() {
+        return mainThread;
+    }
+}
@@ -18,6 +18,22 @@ public class Constants {
 
     public static final String COLLECTION_NOTIFICATIONS = "notifications"; // <-- AÑADIDO
 
+    public static final String COLLECTION_ATTENDANCE_SUMMARIES = "attendanceSummaries"; // {studentId}_{yyyyMM}
+    public static final String COLLECTION_CLASS_DAILY_SUMMARY = "classDailySummary";     // {teacherId}_{yyyyMMdd}
+
+    // Subcolecciones de lectura de avisos
+    public static final String COLLECTION_READ_RECEIPTS = "readReceipts";   // notices/{id}/readReceipts/{userId}
+    public static final String COLLECTION_READ_COUNTERS = "readCounters";   // notices/{id}/readCounters/{shard}
+    public static final String COLLECTION_READ_NOTICES = "readNotices";     // users/{id}/readNotices/{noticeId}
+    public static final int READ_COUNTER_SHARDS = 5;
+
+    // Contadores precalculados por usuario: users/{id}/counters/notices { unread, version, initializedAt }
+    public static final String COLLECTION_COUNTERS = "counters";
+    public static final String COUNTER_NOTICES = "notices";
+    public static final String FIELD_UNREAD = "unread";
+    public static final String FIELD_VERSION = "version";
+    public static final String FIELD_INITIALIZED_AT = "initializedAt";
+
     // User Types
 
     // User Types
@@ -86,10 +102,15 @@ public class Constants {
     public static final String CHANNEL_ATTENDANCE = "attendance_channel";
     public static final String CHANNEL_NOTICES = "notices_channel";
     public static final String CHANNEL_ALERTS = "alerts_channel";
+    public static final int NOTIFICATION_ID_SYNC_FAILED = 2001;
+    public static final String EXTRA_RETRY_SYNC = "retry_sync";
 
     // WorkManager Tags
     public static final String WORK_TAG_SYNC = "sync_work";
     public static final String WORK_TAG_NOTIFICATION = "notification_work";
+    public static final String WORK_NAME_SYNC_NOW = "sync_work_now";
+    public static final String WORK_TAG_MEDIA_UPLOAD = "media_upload_work";
+    public static final String WORK_NAME_MEDIA_UPLOAD = "media_upload_";
 
     // Periods
     public static final int PERIOD_1 = 1;
@@ -27,7 +27,13 @@ public class DateUtils {
     }
 
     public static Date getToday() {
+        return startOfDay(new Date());
+    }
+
+    // La misma fecha a las 00:00:00.000 en la zona horaria del dispositivo
+    public static Date startOfDay(Date date) {
         Calendar cal = Calendar.getInstance();
+        cal.setTime(date);
         cal.set(Calendar.HOUR_OF_DAY, 0);
         cal.set(Calendar.MINUTE, 0);
         cal.set(Calendar.SECOND, 0);
@@ -66,6 +72,39 @@ public class DateUtils {
                 today.get(Calendar.DAY_OF_MONTH) == dateToCheck.get(Calendar.DAY_OF_MONTH);
     }
 
+    // Llave de día para IDs de documento, ej. "20250314". Independiente del idioma del dispositivo.
+    public static String formatDayKey(Date date) {
+        return new SimpleDateFormat("yyyyMMdd", Locale.US).format(date);
+    }
+
+    // Llave de mes, ej. "202503"
+    public static String formatMonthKey(Date date) {
+        return new SimpleDateFormat("yyyyMM", Locale.US).format(date);
+    }
+
+    // Primer instante del mes de una llave "yyyyMM"
+    public static Date startOfMonth(String yearMonth) {
+        Calendar cal = Calendar.getInstance();
+        cal.clear();
+        cal.set(Integer.parseInt(yearMonth.substring(0, 4)),
+                Integer.parseInt(yearMonth.substring(4, 6)) - 1, 1);
+        return cal.getTime();
+    }
+
+    // Último instante del mes de una llave "yyyyMM"
+    public static Date endOfMonth(String yearMonth) {
+        Calendar cal = Calendar.getInstance();
+        cal.setTime(startOfMonth(yearMonth));
+        cal.add(Calendar.MONTH, 1);
+        cal.add(Calendar.MILLISECOND, -1);
+        return cal.getTime();
+    }
+
+    // Día del mes con dos dígitos, ej. "07"
+    public static String formatDayOfMonthKey(Date date) {
+        return new SimpleDateFormat("dd", Locale.US).format(date);
+    }
+
     public static String getRelativeTimeString(Date date) {
         if (date == null) return "";
 
@@ -1,19 +1,184 @@
 package com.example.kinderconnect.utils;
 
+import android.content.ContentResolver;
 import android.content.Context;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
+import android.graphics.ImageDecoder;
+import android.graphics.Matrix;
+import android.media.MediaMetadataRetriever;
 import android.net.Uri;
+import android.os.Build;
 import android.provider.MediaStore;
+import android.util.Size;
+import androidx.exifinterface.media.ExifInterface;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 public class ImageUtils {
 
+    /**
+     * Decodifica a resolución completa. Una foto de cámara de 12-50 MP ocupa 50-200 MB;
+     * para miniaturas usar {@link #decodeSampledBitmap} o {@link #writeScaledJpeg}.
+     */
     public static Bitmap getBitmapFromUri(Context context, Uri uri) throws IOException {
         return MediaStore.Images.Media.getBitmap(context.getContentResolver(), uri);
     }
 
+    /**
+     * Decodifica la imagen ya reducida para caber en maxWidth x maxHeight y girada según
+     * su EXIF. La memoria usada depende del tamaño destino, no del de la foto original:
+     * en API 28+ ImageDecoder decodifica directamente al tamaño pedido; antes se leen
+     * primero solo las dimensiones y se decodifica con inSampleSize.
+     */
+    public static Bitmap decodeSampledBitmap(Context context, Uri uri, int maxWidth, int maxHeight)
+            throws IOException {
+        ContentResolver resolver = context.getContentResolver();
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+            ImageDecoder.Source source = ImageDecoder.createSource(resolver, uri);
+            // ImageDecoder ya aplica la orientación EXIF
+            return ImageDecoder.decodeBitmap(source, (decoder, info, src) -> {
+                Size size = info.getSize();
+                float scale = Math.min(1f, Math.min(
+                        (float) maxWidth / size.getWidth(),
+                        (float) maxHeight / size.getHeight()));
+                decoder.setTargetSize(
+                        Math.max(1, Math.round(size.getWidth() * scale)),
+                        Math.max(1, Math.round(size.getHeight() * scale)));
+                // Software para poder llamar a compress() después
+                decoder.setAllocator(ImageDecoder.ALLOCATOR_SOFTWARE);
+            });
+        }
+
+        // 1. Solo dimensiones, sin reservar los píxeles
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        try (InputStream input = openStream(resolver, uri)) {
+            BitmapFactory.decodeStream(input, null, options);
+        }
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            throw new IOException("No se pudo leer la imagen: " + uri);
+        }
+
+        int rotation = readExifRotation(resolver, uri);
+        boolean swapped = rotation == 90 || rotation == 270;
+        int sourceWidth = swapped ? options.outHeight : options.outWidth;
+        int sourceHeight = swapped ? options.outWidth : options.outHeight;
+
+        // 2. Decodificar submuestreado
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = calculateInSampleSize(sourceWidth, sourceHeight, maxWidth, maxHeight);
+        Bitmap sampled;
+        try (InputStream input = openStream(resolver, uri)) {
+            sampled = BitmapFactory.decodeStream(input, null, options);
+        }
+        if (sampled == null) {
+            throw new IOException("No se pudo decodificar la imagen: " + uri);
+        }
+
+        // 3. Girar y ajustar al tamaño exacto; aquí el bitmap ya es pequeño
+        Bitmap rotated = rotate(sampled, rotation);
+        Bitmap scaled = rotated.getWidth() > maxWidth || rotated.getHeight() > maxHeight
+                ? compressBitmap(rotated, maxWidth, maxHeight)
+                : rotated;
+        if (scaled != rotated) rotated.recycle();
+        return scaled;
+    }
+
+    /**
+     * Decodifica la imagen reducida y la escribe como JPEG en {@code output}.
+     * El bitmap intermedio se libera en cuanto termina la compresión.
+     */
+    public static void writeScaledJpeg(Context context, Uri uri, int maxWidth, int maxHeight,
+                                       int quality, OutputStream output) throws IOException {
+        Bitmap bitmap = decodeSampledBitmap(context, uri, maxWidth, maxHeight);
+        try {
+            if (!bitmap.compress(Bitmap.CompressFormat.JPEG, quality, output)) {
+                throw new IOException("No se pudo codificar la imagen: " + uri);
+            }
+        } finally {
+            bitmap.recycle();
+        }
+    }
+
+    /**
+     * Extrae un fotograma del video (a los 3 s o, si no hay, el primero) y lo escribe como
+     * JPEG. En API 27+ el fotograma se decodifica directamente al tamaño pedido.
+     * Devuelve false si el video no tiene ningún fotograma extraíble.
+     */
+    public static boolean writeVideoFrameJpeg(Context context, Uri videoUri, int maxWidth, int maxHeight,
+                                              int quality, OutputStream output) throws IOException {
+        MediaMetadataRetriever retriever = new MediaMetadataRetriever();
+        try {
+            retriever.setDataSource(context, videoUri);
+            Bitmap frame = getScaledFrame(retriever, 3000000, maxWidth, maxHeight);
+            if (frame == null) {
+                frame = getScaledFrame(retriever, 0, maxWidth, maxHeight);
+            }
+            if (frame == null) return false;
+
+            try {
+                return frame.compress(Bitmap.CompressFormat.JPEG, quality, output);
+            } finally {
+                frame.recycle();
+            }
+        } finally {
+            retriever.release();
+        }
+    }
+
+    private static Bitmap getScaledFrame(MediaMetadataRetriever retriever, long timeUs,
+                                         int maxWidth, int maxHeight) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O_MR1) {
+            return retriever.getScaledFrameAtTime(timeUs, MediaMetadataRetriever.OPTION_CLOSEST_SYNC,
+                    maxWidth, maxHeight);
+        }
+        Bitmap frame = retriever.getFrameAtTime(timeUs, MediaMetadataRetriever.OPTION_CLOSEST_SYNC);
+        if (frame == null) return null;
+        Bitmap scaled = compressBitmap(frame, maxWidth, maxHeight);
+        if (scaled != frame) frame.recycle();
+        return scaled;
+    }
+
+    // Mayor potencia de 2 que mantiene la imagen por encima del tamaño pedido
+    static int calculateInSampleSize(int width, int height, int maxWidth, int maxHeight) {
+        int inSampleSize = 1;
+        while (width / (inSampleSize * 2) >= maxWidth && height / (inSampleSize * 2) >= maxHeight) {
+            inSampleSize *= 2;
+        }
+        return inSampleSize;
+    }
+
+    private static int readExifRotation(ContentResolver resolver, Uri uri) {
+        try (InputStream input = openStream(resolver, uri)) {
+            return new ExifInterface(input).getRotationDegrees();
+        } catch (IOException e) {
+            // Sin EXIF legible se deja como está
+            return 0;
+        }
+    }
+
+    private static Bitmap rotate(Bitmap bitmap, int degrees) {
+        if (degrees == 0) return bitmap;
+        Matrix matrix = new Matrix();
+        matrix.postRotate(degrees);
+        Bitmap rotated = Bitmap.createBitmap(bitmap, 0, 0,
+                bitmap.getWidth(), bitmap.getHeight(), matrix, true);
+        if (rotated != bitmap) bitmap.recycle();
+        return rotated;
+    }
+
+    private static InputStream openStream(ContentResolver resolver, Uri uri) throws IOException {
+        InputStream input = resolver.openInputStream(uri);
+        if (input == null) {
+            throw new IOException("No se pudo abrir " + uri);
+        }
+        return input;
+    }
+
     public static Uri getImageUri(Context context, Bitmap bitmap) {
         ByteArrayOutputStream bytes = new ByteArrayOutputStream();
         bitmap.compress(Bitmap.CompressFormat.JPEG, 100, bytes);
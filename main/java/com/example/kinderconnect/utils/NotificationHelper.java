@@ -90,6 +90,31 @@ public class NotificationHelper {
         notificationManager.notify((int) System.currentTimeMillis(), builder.build());
     }
 
+    // Una sola notificación (ID fijo) que se actualiza con el total de cambios sin subir
+    public static void showSyncFailedNotification(Context context, int count, Intent intent) {
+        String title = "Cambios sin sincronizar";
+        String message = count + " cambios no se pudieron guardar en el servidor. Toca para reintentar.";
+
+        PendingIntent pendingIntent = PendingIntent.getActivity(
+                context, Constants.NOTIFICATION_ID_SYNC_FAILED, intent,
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
+        );
+
+        NotificationCompat.Builder builder = new NotificationCompat.Builder(
+                context, Constants.CHANNEL_ALERTS)
+                .setSmallIcon(R.drawable.ic_logo)
+                .setContentTitle(title)
+                .setContentText(message)
+                .setStyle(new NotificationCompat.BigTextStyle().bigText(message))
+                .setPriority(NotificationCompat.PRIORITY_HIGH)
+                .setContentIntent(pendingIntent)
+                .setAutoCancel(true);
+
+        NotificationManager notificationManager =
+                (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
+        notificationManager.notify(Constants.NOTIFICATION_ID_SYNC_FAILED, builder.build());
+    }
+
     private static String getStatusText(String status) {
         switch (status) {
             case Constants.ATTENDANCE_PRESENT:
@@ -21,6 +21,12 @@ public class ValidationUtils {
         return !TextUtils.isEmpty(name) && name.trim().length() >= 3;
     }
 
+    // Compara el texto de un campo con el valor guardado (null cuenta como vacío)
+    public static boolean sameText(CharSequence fieldText, String value) {
+        String current = fieldText != null ? fieldText.toString().trim() : "";
+        return current.equals(value != null ? value.trim() : "");
+    }
+
     public static boolean passwordsMatch(String password, String confirmPassword) {
         return password.equals(confirmPassword);
     }
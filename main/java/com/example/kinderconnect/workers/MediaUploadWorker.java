@@ -0,0 +1,369 @@
+package com.example.kinderconnect.workers;
+
+import android.content.Context;
+import android.net.Uri;
+import android.os.SystemClock;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.OverwritingInputMerger;
+import androidx.work.WorkContinuation;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+import com.example.kinderconnect.data.local.db.AppDatabase;
+import com.example.kinderconnect.data.local.db.MediaUploadDao;
+import com.example.kinderconnect.data.local.entity.MediaUploadEntity;
+import com.example.kinderconnect.data.model.GalleryItem;
+import com.example.kinderconnect.utils.AppExecutors;
+import com.example.kinderconnect.utils.Constants;
+import com.google.android.gms.tasks.OnProgressListener;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.storage.FirebaseStorage;
+import com.google.firebase.storage.StorageException;
+import com.google.firebase.storage.StorageMetadata;
+import com.google.firebase.storage.StorageReference;
+import com.google.firebase.storage.UploadTask;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Base de la cadena de subida de la galería:
+ * PrepareMediaWorker (copia local + thumbnail) -> UploadOriginalWorker y
+ * UploadThumbnailWorker en paralelo -> SaveGalleryItemWorker.
+ *
+ * El estado entre pasos viaja en el Data de WorkManager, que lo persiste: cada paso copia
+ * su entrada a la salida y añade lo suyo. Las rutas de Storage y el id del documento se
+ * fijan al encolar, así que repetir un paso sobrescribe en lugar de duplicar.
+ * Si un paso agota sus reintentos se cancela la otra subida y se borra lo subido y los
+ * archivos locales.
+ * Las subidas son resumibles: la sesión de Storage se guarda en media_uploads y un
+ * reintento continúa desde el último byte confirmado (ver {@link #uploadResumable}).
+ */
+public abstract class MediaUploadWorker extends Worker {
+    private static final String TAG = "MediaUploadWorker";
+
+    static final int MAX_ATTEMPTS = 5;
+    static final long TASK_TIMEOUT_MINUTES = 10;
+    // Frecuencia máxima con la que se guarda el avance en media_uploads
+    private static final long PERSIST_INTERVAL_MS = 1000;
+    // Peso de la última muestra en la media móvil de la velocidad
+    private static final double THROUGHPUT_SMOOTHING = 0.3;
+
+    // Entrada fijada al encolar
+    static final String KEY_ITEM_ID = "item_id";
+    static final String KEY_SOURCE_URI = "source_uri";
+    static final String KEY_MEDIA_TYPE = "media_type";
+    static final String KEY_TEACHER_ID = "teacher_id";
+    static final String KEY_GROUP_NAME = "group_name";
+    static final String KEY_DESCRIPTION = "description";
+    static final String KEY_ORIGINAL_PATH = "original_path";
+    static final String KEY_THUMB_PATH = "thumb_path";
+    static final String KEY_TAGGED_STUDENTS = "tagged_students";
+    static final String KEY_LOCATION = "location";
+    static final String KEY_LATITUDE = "latitude";
+    static final String KEY_LONGITUDE = "longitude";
+    // Ids de las dos subidas paralelas, para cancelar la otra si una falla
+    static final String KEY_UPLOAD_WORK_IDS = "upload_work_ids";
+
+    // Añadidos por los pasos
+    static final String KEY_LOCAL_ORIGINAL = "local_original";
+    static final String KEY_LOCAL_THUMB = "local_thumb";
+    static final String KEY_MEDIA_URL = "media_url";
+    static final String KEY_THUMB_URL = "thumb_url";
+
+    // Salida de error y progreso, leídos desde la UI
+    public static final String KEY_ERROR = "error";
+    public static final String PROGRESS_STEP = "step";
+    public static final String PROGRESS_PERCENT = "percent";
+    public static final String PROGRESS_BYTES_PER_SECOND = "bytes_per_second";
+    public static final String PROGRESS_ETA_SECONDS = "eta_seconds";
+
+    public static final int STEP_PREPARE = 1;
+    public static final int STEP_UPLOAD_ORIGINAL = 2;
+    public static final int STEP_UPLOAD_THUMBNAIL = 3;
+    public static final int STEP_SAVE = 4;
+
+    private volatile UploadTask currentUpload;
+
+    MediaUploadWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Encola la cadena completa como trabajo único por itemId.
+     * {@code sourceUri} solo tiene que ser legible hasta que termine PrepareMediaWorker.
+     */
+    public static void enqueue(Context context, String itemId, GalleryItem galleryItem, Uri sourceUri) {
+        Constraints network = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .build();
+        OneTimeWorkRequest uploadOriginal = step(UploadOriginalWorker.class, network).build();
+        OneTimeWorkRequest uploadThumbnail = step(UploadThumbnailWorker.class, network).build();
+
+        boolean isImage = Constants.MEDIA_IMAGE.equals(galleryItem.getMediaType());
+        List<String> tagged = galleryItem.getTaggedStudents();
+        Data input = new Data.Builder()
+                .putString(KEY_ITEM_ID, itemId)
+                .putString(KEY_SOURCE_URI, sourceUri.toString())
+                .putString(KEY_MEDIA_TYPE, galleryItem.getMediaType())
+                .putString(KEY_TEACHER_ID, galleryItem.getTeacherId())
+                .putString(KEY_GROUP_NAME, galleryItem.getGroupName())
+                .putString(KEY_DESCRIPTION, galleryItem.getDescription())
+                .putStringArray(KEY_TAGGED_STUDENTS,
+                        tagged != null ? tagged.toArray(new String[0]) : new String[0])
+                .putString(KEY_LOCATION, galleryItem.getLocation())
+                .putDouble(KEY_LATITUDE, galleryItem.getLatitude())
+                .putDouble(KEY_LONGITUDE, galleryItem.getLongitude())
+                .putStringArray(KEY_UPLOAD_WORK_IDS, new String[]{
+                        uploadOriginal.getId().toString(), uploadThumbnail.getId().toString()})
+                .putString(KEY_ORIGINAL_PATH, Constants.STORAGE_GALLERY + itemId + (isImage ? ".jpg" : ".mp4"))
+                .putString(KEY_THUMB_PATH, Constants.STORAGE_GALLERY
+                        + (isImage ? "thumb_" : "thumb_video_") + itemId + ".jpg")
+                .build();
+
+        OneTimeWorkRequest prepare = step(PrepareMediaWorker.class, Constraints.NONE)
+                .setInputData(input)
+                .build();
+
+        // Original y thumbnail se suben a la vez; el guardado recibe la salida de ambos
+        // (OverwritingInputMerger junta media_url y thumb_url)
+        WorkContinuation prepared = WorkManager.getInstance(context)
+                .beginUniqueWork(Constants.WORK_NAME_MEDIA_UPLOAD + itemId, ExistingWorkPolicy.KEEP, prepare);
+        WorkContinuation.combine(Arrays.asList(prepared.then(uploadOriginal), prepared.then(uploadThumbnail)))
+                .then(step(SaveGalleryItemWorker.class, network)
+                        .setInputMerger(OverwritingInputMerger.class)
+                        .build())
+                .enqueue();
+    }
+
+    private static OneTimeWorkRequest.Builder step(Class<? extends MediaUploadWorker> worker,
+                                                   Constraints constraints) {
+        return new OneTimeWorkRequest.Builder(worker)
+                .setConstraints(constraints)
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, 30, TimeUnit.SECONDS)
+                .addTag(Constants.WORK_TAG_MEDIA_UPLOAD);
+    }
+
+    @NonNull
+    @Override
+    public final Result doWork() {
+        try {
+            Data.Builder output = new Data.Builder().putAll(getInputData());
+            runStep(output);
+            return Result.success(output.build());
+        } catch (Exception e) {
+            if (isStopped()) {
+                // WorkManager detuvo el paso (p. ej. se perdió la red): no cuenta como fallo
+                return Result.retry();
+            }
+            if (getRunAttemptCount() + 1 < MAX_ATTEMPTS) {
+                Log.w(TAG, getClass().getSimpleName() + " falló, se reintentará", e);
+                return Result.retry();
+            }
+            Log.e(TAG, getClass().getSimpleName() + " agotó los reintentos", e);
+            cleanUp();
+            return Result.failure(new Data.Builder()
+                    .putString(KEY_ITEM_ID, getInputData().getString(KEY_ITEM_ID))
+                    .putString(KEY_ERROR, e.getMessage())
+                    .build());
+        }
+    }
+
+    /**
+     * Ejecuta el paso de forma síncrona. Lo que se añada a {@code output} llega a los
+     * pasos siguientes. Cualquier excepción cuenta como intento fallido.
+     */
+    protected abstract void runStep(Data.Builder output) throws Exception;
+
+    @Override
+    public void onStopped() {
+        super.onStopped();
+        // pause() conserva la sesión en el servidor; cancel() la descartaría
+        UploadTask upload = currentUpload;
+        if (upload != null) upload.pause();
+    }
+
+    /**
+     * Sube {@code file} a {@code storagePath} con una subida resumible. Si media_uploads
+     * tiene una sesión de un intento anterior (o de antes de reiniciarse el proceso) se
+     * continúa con putFile(uri, metadata, sessionUri) y solo se envían los bytes que faltan.
+     */
+    protected void uploadResumable(String storagePath, File file, String contentType, int step)
+            throws Exception {
+        MediaUploadDao dao = AppDatabase.getInstance(getApplicationContext()).mediaUploadDao();
+        dao.insertIfAbsent(MediaUploadEntity.create(storagePath, file.getAbsolutePath()));
+        MediaUploadEntity state = dao.get(storagePath);
+
+        StorageReference ref = FirebaseStorage.getInstance().getReference().child(storagePath);
+        StorageMetadata metadata = new StorageMetadata.Builder().setContentType(contentType).build();
+        Uri fileUri = Uri.fromFile(file);
+
+        UploadTask upload;
+        if (state != null && state.getSessionUri() != null) {
+            Log.d(TAG, "Reanudando " + storagePath + " desde el byte " + state.getBytesTransferred());
+            upload = ref.putFile(fileUri, metadata, Uri.parse(state.getSessionUri()));
+        } else {
+            upload = ref.putFile(fileUri, metadata);
+        }
+        currentUpload = upload;
+        // diskIO: el listener escribe en Room
+        upload.addOnProgressListener(AppExecutors.getInstance().diskIO(),
+                new ProgressTracker(dao, storagePath, step,
+                        state != null ? state.getSessionUri() : null));
+
+        try {
+            awaitUpload(upload);
+        } catch (ExecutionException e) {
+            if (isSessionInvalid(e.getCause())) {
+                Log.w(TAG, "La sesión de " + storagePath + " ya no es válida, se empezará de nuevo");
+                dao.clearSession(storagePath);
+            }
+            throw e;
+        } finally {
+            currentUpload = null;
+        }
+        dao.delete(storagePath);
+    }
+
+    // Espera en intervalos cortos para notar si WorkManager detuvo el paso
+    private void awaitUpload(UploadTask upload) throws Exception {
+        while (true) {
+            try {
+                Tasks.await(upload, 1, TimeUnit.SECONDS);
+                return;
+            } catch (TimeoutException e) {
+                if (isStopped()) {
+                    throw new IOException("Subida pausada; se reanudará en el siguiente intento");
+                }
+            }
+        }
+    }
+
+    // 404/410: la sesión caducó o el servidor la descartó; otros errores (red) la conservan
+    private static boolean isSessionInvalid(Throwable error) {
+        if (!(error instanceof StorageException)) return false;
+        StorageException storageError = (StorageException) error;
+        int http = storageError.getHttpResultCode();
+        return http == 404 || http == 410
+                || storageError.getErrorCode() == StorageException.ERROR_OBJECT_NOT_FOUND;
+    }
+
+    /**
+     * Guarda la sesión en cuanto Storage la asigna y el avance como mucho una vez por
+     * segundo. Calcula la velocidad con una media móvil y, con ella, el tiempo restante.
+     */
+    private final class ProgressTracker implements OnProgressListener<UploadTask.TaskSnapshot> {
+        private final MediaUploadDao dao;
+        private final String storagePath;
+        private final int step;
+        private String savedSession;
+        private long lastBytes = -1;
+        private long lastTime;
+        private long lastPersist;
+        private double bytesPerSecond;
+
+        ProgressTracker(MediaUploadDao dao, String storagePath, int step, String savedSession) {
+            this.dao = dao;
+            this.storagePath = storagePath;
+            this.step = step;
+            this.savedSession = savedSession;
+        }
+
+        @Override
+        public void onProgress(@NonNull UploadTask.TaskSnapshot snapshot) {
+            long now = SystemClock.elapsedRealtime();
+            long bytes = snapshot.getBytesTransferred();
+            long total = snapshot.getTotalByteCount();
+
+            if (lastBytes >= 0 && now > lastTime) {
+                double sample = (bytes - lastBytes) * 1000.0 / (now - lastTime);
+                bytesPerSecond = bytesPerSecond == 0
+                        ? sample
+                        : THROUGHPUT_SMOOTHING * sample + (1 - THROUGHPUT_SMOOTHING) * bytesPerSecond;
+            }
+            lastBytes = bytes;
+            lastTime = now;
+
+            Uri session = snapshot.getUploadSessionUri();
+            String sessionUri = session != null ? session.toString() : null;
+            if (!Objects.equals(sessionUri, savedSession) || now - lastPersist >= PERSIST_INTERVAL_MS) {
+                dao.updateProgress(storagePath, sessionUri, bytes, total, System.currentTimeMillis());
+                savedSession = sessionUri;
+                lastPersist = now;
+            }
+
+            long etaSeconds = bytesPerSecond > 0 ? (long) ((total - bytes) / bytesPerSecond) : -1;
+            int percent = total > 0 ? (int) (100 * bytes / total) : 0;
+            Log.d(TAG, storagePath + ": " + percent + "% a " + (long) bytesPerSecond
+                    + " B/s, faltan " + etaSeconds + " s");
+            setProgressAsync(new Data.Builder()
+                    .putInt(PROGRESS_STEP, step)
+                    .putInt(PROGRESS_PERCENT, percent)
+                    .putLong(PROGRESS_BYTES_PER_SECOND, (long) bytesPerSecond)
+                    .putLong(PROGRESS_ETA_SECONDS, etaSeconds)
+                    .build());
+        }
+    }
+
+    protected void reportProgress(int step, int percent) {
+        setProgressAsync(new Data.Builder()
+                .putInt(PROGRESS_STEP, step)
+                .putInt(PROGRESS_PERCENT, percent)
+                .build());
+    }
+
+    // Borrar un objeto que no existe solo falla con 404, así que no hace falta saber hasta dónde se llegó
+    private void cleanUp() {
+        // La subida hermana no debe terminar después y dejar un objeto huérfano
+        String[] uploadIds = getInputData().getStringArray(KEY_UPLOAD_WORK_IDS);
+        if (uploadIds != null) {
+            WorkManager workManager = WorkManager.getInstance(getApplicationContext());
+            for (String id : uploadIds) {
+                if (!id.equals(getId().toString())) workManager.cancelWorkById(UUID.fromString(id));
+            }
+        }
+
+        FirebaseStorage storage = FirebaseStorage.getInstance();
+        MediaUploadDao dao = AppDatabase.getInstance(getApplicationContext()).mediaUploadDao();
+        for (String key : new String[]{KEY_ORIGINAL_PATH, KEY_THUMB_PATH}) {
+            String path = getInputData().getString(key);
+            if (path != null) {
+                dao.delete(path);
+                storage.getReference().child(path).delete().addOnFailureListener(e ->
+                        Log.d(TAG, "Nada que borrar en " + path));
+            }
+        }
+        deleteLocalFiles(getInputData());
+    }
+
+    static void deleteLocalFiles(Data data) {
+        for (String key : new String[]{KEY_LOCAL_ORIGINAL, KEY_LOCAL_THUMB}) {
+            String path = data.getString(key);
+            if (path != null && !new File(path).delete()) {
+                Log.w(TAG, "No se pudo borrar " + path);
+            }
+        }
+    }
+
+    // Directorio privado donde PrepareMediaWorker deja las copias hasta que termina la cadena
+    static File uploadsDir(Context context) {
+        File dir = new File(context.getFilesDir(), "pending_uploads");
+        if (!dir.exists() && !dir.mkdirs()) {
+            Log.w(TAG, "No se pudo crear " + dir);
+        }
+        return dir;
+    }
+}
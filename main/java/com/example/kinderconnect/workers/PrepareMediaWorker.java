@@ -0,0 +1,76 @@
+package com.example.kinderconnect.workers;
+
+import android.content.Context;
+import android.net.Uri;
+import androidx.annotation.NonNull;
+import androidx.work.Data;
+import androidx.work.WorkerParameters;
+import com.example.kinderconnect.utils.Constants;
+import com.example.kinderconnect.utils.ImageUtils;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Paso 1: copia el archivo elegido a almacenamiento privado (el permiso sobre la URI del
+ * selector no sobrevive a la muerte del proceso) y genera el JPEG del thumbnail.
+ */
+public class PrepareMediaWorker extends MediaUploadWorker {
+    private static final int THUMBNAIL_SIZE = 400;
+    private static final int THUMBNAIL_QUALITY = 80;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public PrepareMediaWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    @Override
+    protected void runStep(Data.Builder output) throws Exception {
+        Context context = getApplicationContext();
+        Data input = getInputData();
+        String itemId = input.getString(KEY_ITEM_ID);
+        Uri source = Uri.parse(input.getString(KEY_SOURCE_URI));
+        boolean isImage = Constants.MEDIA_IMAGE.equals(input.getString(KEY_MEDIA_TYPE));
+
+        File dir = uploadsDir(context);
+        File original = new File(dir, itemId + (isImage ? ".jpg" : ".mp4"));
+        copy(context, source, original);
+        output.putString(KEY_LOCAL_ORIGINAL, original.getAbsolutePath());
+        reportProgress(STEP_PREPARE, 50);
+
+        File thumb = new File(dir, itemId + "_thumb.jpg");
+        boolean hasThumb;
+        try (OutputStream out = new FileOutputStream(thumb)) {
+            Uri local = Uri.fromFile(original);
+            if (isImage) {
+                ImageUtils.writeScaledJpeg(context, local, THUMBNAIL_SIZE, THUMBNAIL_SIZE,
+                        THUMBNAIL_QUALITY, out);
+                hasThumb = true;
+            } else {
+                hasThumb = ImageUtils.writeVideoFrameJpeg(context, local, THUMBNAIL_SIZE,
+                        THUMBNAIL_SIZE, THUMBNAIL_QUALITY, out);
+            }
+        }
+        if (hasThumb) {
+            output.putString(KEY_LOCAL_THUMB, thumb.getAbsolutePath());
+        } else {
+            // Video sin fotograma extraíble: se guarda sin thumbnail
+            thumb.delete();
+        }
+        reportProgress(STEP_PREPARE, 100);
+    }
+
+    private static void copy(Context context, Uri source, File target) throws IOException {
+        try (InputStream in = context.getContentResolver().openInputStream(source);
+             OutputStream out = new FileOutputStream(target)) {
+            if (in == null) throw new IOException("No se pudo abrir " + source);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+}
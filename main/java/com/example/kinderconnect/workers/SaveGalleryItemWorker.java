@@ -0,0 +1,52 @@
+package com.example.kinderconnect.workers;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.work.Data;
+import androidx.work.WorkerParameters;
+import com.example.kinderconnect.data.model.GalleryItem;
+import com.example.kinderconnect.data.remote.FirestoreProvider;
+import com.example.kinderconnect.utils.Constants;
+import com.google.android.gms.tasks.Tasks;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paso 4: escribe el GalleryItem con el id reservado al encolar (set es idempotente
+ * si el paso se repite) y borra las copias locales. Corre cuando terminaron las dos
+ * subidas; todos los campos del item llegan en el Data.
+ */
+public class SaveGalleryItemWorker extends MediaUploadWorker {
+
+    public SaveGalleryItemWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    @Override
+    protected void runStep(Data.Builder output) throws Exception {
+        Data input = getInputData();
+        GalleryItem item = new GalleryItem(
+                input.getString(KEY_TEACHER_ID),
+                input.getString(KEY_MEDIA_URL),
+                input.getString(KEY_MEDIA_TYPE),
+                input.getString(KEY_DESCRIPTION));
+        item.setGroupName(input.getString(KEY_GROUP_NAME));
+        item.setThumbnailUrl(input.getString(KEY_THUMB_URL));
+        String[] tagged = input.getStringArray(KEY_TAGGED_STUDENTS);
+        item.setTaggedStudents(tagged != null
+                ? new ArrayList<>(Arrays.asList(tagged)) : new ArrayList<>());
+        item.setLocation(input.getString(KEY_LOCATION));
+        item.setLatitude(input.getDouble(KEY_LATITUDE, 0));
+        item.setLongitude(input.getDouble(KEY_LONGITUDE, 0));
+
+        Tasks.await(FirestoreProvider.get()
+                        .collection(Constants.COLLECTION_GALLERY)
+                        .document(input.getString(KEY_ITEM_ID))
+                        .set(item),
+                TASK_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+        reportProgress(STEP_SAVE, 100);
+
+        deleteLocalFiles(input);
+    }
+}
@@ -1,23 +1,90 @@
 package com.example.kinderconnect.workers;
 
 import android.content.Context;
+import android.content.Intent;
 import androidx.annotation.NonNull;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
 import androidx.work.Worker;
 import androidx.work.WorkerParameters;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+import com.example.kinderconnect.data.remote.FirestoreProvider;
 import com.example.kinderconnect.data.local.PreferencesManager;
+import com.example.kinderconnect.data.local.db.AppDatabase;
+import com.example.kinderconnect.data.local.db.PendingMutationDao;
+import com.example.kinderconnect.data.local.entity.AttendanceEntity;
+import com.example.kinderconnect.data.local.entity.GradeEntity;
+import com.example.kinderconnect.data.local.entity.PendingMutation;
+import com.example.kinderconnect.data.model.Attendance;
+import com.example.kinderconnect.data.repository.AttendanceRepository;
+import com.example.kinderconnect.ui.teacher.TeacherMainActivity;
+import com.example.kinderconnect.utils.AppExecutors;
+import com.example.kinderconnect.utils.Constants;
+import com.example.kinderconnect.utils.DateUtils;
 import com.example.kinderconnect.utils.NetworkUtils;
+import com.example.kinderconnect.utils.NotificationHelper;
 import android.util.Log;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 public class SyncWorker extends Worker {
     private static final String TAG = "SyncWorker";
+
+    // Firestore acepta hasta 500 operaciones por batch. Cada asistencia escribe también
+    // su resumen mensual y el resumen diario del grupo (3 operaciones), así que tomamos
+    // menos cambios por batch para dejar margen.
+    private static final int MAX_BATCH_SIZE = 150;
+    private static final long COMMIT_TIMEOUT_SECONDS = 30;
+    // Valor de attempts que marca un cambio apartado del outbox (dead letter)
+    private static final int MAX_ATTEMPTS = 10;
+    private static final int CACHE_MAX_AGE_DAYS = 60;
+
     private final FirebaseFirestore firestore;
     private final PreferencesManager preferencesManager;
+    private final AppDatabase database;
 
     public SyncWorker(@NonNull Context context, @NonNull WorkerParameters params) {
         super(context, params);
-        this.firestore = FirebaseFirestore.getInstance();
-        this.preferencesManager = new PreferencesManager(context);
+        this.firestore = FirestoreProvider.get();
+        this.preferencesManager = PreferencesManager.getInstance(context);
+        this.database = AppDatabase.getInstance(context);
+    }
+
+    /**
+     * Encola una sincronización inmediata (se ejecuta en cuanto haya red).
+     * Si ya hay una corriendo, esta se encadena detrás para no perder cambios nuevos.
+     */
+    public static void enqueue(Context context) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .build();
+
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(SyncWorker.class)
+                .setConstraints(constraints)
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, 30, TimeUnit.SECONDS)
+                .addTag(Constants.WORK_TAG_SYNC)
+                .build();
+
+        WorkManager.getInstance(context).enqueueUniqueWork(
+                Constants.WORK_NAME_SYNC_NOW,
+                ExistingWorkPolicy.APPEND_OR_REPLACE,
+                request
+        );
     }
 
     @NonNull
@@ -34,31 +101,216 @@ public class SyncWorker extends Worker {
         try {
             // Sincronizar datos pendientes
             syncPendingData();
+        } catch (Exception e) {
+            // El outbox sigue intacto; WorkManager reintenta con backoff exponencial
+            Log.e(TAG, "Error during sync, will retry: " + e.getMessage());
+            return Result.retry();
+        }
 
+        try {
             // Limpiar caché antigua
             cleanOldCache();
+        } catch (Exception e) {
+            Log.e(TAG, "Error cleaning cache: " + e.getMessage());
+        }
 
-            Log.d(TAG, "Sync completed successfully");
-            return Result.success();
+        Log.d(TAG, "Sync completed successfully");
+        return Result.success();
+    }
 
-        } catch (Exception e) {
-            Log.e(TAG, "Error during sync: " + e.getMessage());
-            return Result.failure();
+    /**
+     * Devuelve al outbox los cambios apartados y encola una sincronización.
+     * Es la acción de la notificación de cambios sin sincronizar.
+     */
+    public static void retryDeadLetters(Context context) {
+        Context appContext = context.getApplicationContext();
+        AppExecutors.getInstance().diskIO().execute(() -> {
+            int restored = AppDatabase.getInstance(appContext).pendingMutationDao()
+                    .resetDeadLetters(MAX_ATTEMPTS);
+            Log.d(TAG, "Cambios apartados devueltos al outbox: " + restored);
+            enqueue(appContext);
+        });
+    }
+
+    /**
+     * Vacía el outbox en batches de Firestore. Cada batch es atómico: si falla,
+     * ninguna entrada se borra y se vuelve a intentar completo.
+     * Los errores transitorios (sin red, UNAVAILABLE, timeout) no gastan intentos: se
+     * relanzan y WorkManager reintenta con backoff. Si el error es permanente
+     * (p. ej. PERMISSION_DENIED) se reintenta cambio por cambio para apartar solo el que
+     * falla; así un cambio inválido no bloquea al resto del outbox.
+     */
+    private void syncPendingData() throws Exception {
+        Log.d(TAG, "Syncing pending data...");
+
+        PendingMutationDao dao = database.pendingMutationDao();
+        int deadLettersBefore = dao.countDeadLetters(MAX_ATTEMPTS);
+        List<PendingMutation> mutations;
+        while (!(mutations = dao.getOldest(MAX_ATTEMPTS, MAX_BATCH_SIZE)).isEmpty()) {
+            try {
+                commit(mutations);
+            } catch (Exception e) {
+                if (!isPermanentError(e)) throw e;
+                Log.w(TAG, "Error permanente en un batch, se suben los cambios uno a uno", e);
+                commitIndividually(mutations);
+                continue;
+            }
+            Log.d(TAG, "Batch sincronizado: " + mutations.size() + " cambios");
+        }
+
+        int deadLetters = dao.countDeadLetters(MAX_ATTEMPTS);
+        if (deadLetters > deadLettersBefore) {
+            Log.w(TAG, deadLetters + " cambios apartados por errores permanentes");
+            notifyDeadLetters(deadLetters);
         }
     }
 
-    private void syncPendingData() {
-        // Aquí puedes implementar lógica para sincronizar datos que se guardaron
-        // localmente cuando no había conexión
+    // Avisa a la maestra; al tocar la notificación se abre la app y se reintentan
+    private void notifyDeadLetters(int count) {
+        Context context = getApplicationContext();
+        Intent intent = new Intent(context, TeacherMainActivity.class)
+                .putExtra(Constants.EXTRA_RETRY_SYNC, true)
+                .addFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TOP);
+        NotificationHelper.showSyncFailedNotification(context, count, intent);
+    }
 
-        // Por ejemplo, sincronizar asistencias pendientes
-        // sincronizar calificaciones pendientes, etc.
+    private void commitIndividually(List<PendingMutation> mutations) throws Exception {
+        PendingMutationDao dao = database.pendingMutationDao();
+        for (PendingMutation mutation : mutations) {
+            List<PendingMutation> single = Collections.singletonList(mutation);
+            try {
+                commit(single);
+            } catch (Exception e) {
+                if (!isPermanentError(e)) throw e;
+                // Se conserva en la tabla (no se pierde el dato) pero getOldest ya no lo devuelve
+                Log.e(TAG, "Cambio apartado por error permanente: " + mutation.getIdempotencyKey(), e);
+                dao.setAttempts(mutation.getIdempotencyKey(), MAX_ATTEMPTS);
+            }
+        }
+    }
 
-        Log.d(TAG, "Syncing pending data...");
+    // Escribe los cambios en un solo batch y, si se confirma, los saca del outbox
+    private void commit(List<PendingMutation> mutations) throws Exception {
+        WriteBatch batch = firestore.batch();
+
+        for (PendingMutation mutation : mutations) {
+            DocumentReference ref = firestore.collection(mutation.getCollection())
+                    .document(mutation.getDocumentId());
+
+            if (PendingMutation.OP_DELETE.equals(mutation.getOperation())) {
+                batch.delete(ref);
+                continue;
+            }
+
+            Object data = loadLocalDocument(mutation);
+            if (data == null) continue;
+            // set() completo: Room tiene el documento entero y un merge conservaría, por
+            // ejemplo, las áreas quitadas del mapa evaluations de una calificación
+            batch.set(ref, data);
+            if (data instanceof Attendance) {
+                addSummaryWrites(batch, (Attendance) data);
+            }
+        }
+
+        Tasks.await(batch.commit(), COMMIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        database.runInTransaction(() -> {
+            for (PendingMutation mutation : mutations) {
+                int deleted = database.pendingMutationDao()
+                        .deleteIfUnchanged(mutation.getIdempotencyKey(), mutation.getCreatedAt());
+                if (deleted > 0) {
+                    markSynced(mutation);
+                }
+            }
+        });
+    }
+
+    // Errores que no se arreglan reintentando: reglas de seguridad, datos inválidos, etc.
+    private static boolean isPermanentError(Exception e) {
+        Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+        if (!(cause instanceof FirebaseFirestoreException)) return false;
+        switch (((FirebaseFirestoreException) cause).getCode()) {
+            case INVALID_ARGUMENT:
+            case NOT_FOUND:
+            case ALREADY_EXISTS:
+            case PERMISSION_DENIED:
+            case FAILED_PRECONDITION:
+            case OUT_OF_RANGE:
+            case UNIMPLEMENTED:
+            case DATA_LOSS:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Actualiza en el mismo batch el resumen mensual del alumno y el resumen diario del grupo.
+     * Solo escribe la entrada de ese día/alumno con merge, así que es idempotente aunque el
+     * batch se reintente.
+     */
+    private void addSummaryWrites(WriteBatch batch, Attendance attendance) {
+        Date day = attendance.getAttendanceDate();
+        if (day == null || attendance.getStudentId() == null) return;
+        String yearMonth = DateUtils.formatMonthKey(day);
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("studentId", attendance.getStudentId());
+        summary.put("yearMonth", yearMonth);
+        summary.put("days", Collections.singletonMap(
+                DateUtils.formatDayOfMonthKey(day), attendance.getStatus()));
+        summary.put("updatedAt", FieldValue.serverTimestamp());
+
+        batch.set(firestore.collection(Constants.COLLECTION_ATTENDANCE_SUMMARIES)
+                        .document(AttendanceRepository.buildSummaryId(attendance.getStudentId(), yearMonth)),
+                summary, SetOptions.merge());
+
+        if (attendance.getTeacherId() == null) return;
+        Map<String, Object> classSummary = new HashMap<>();
+        classSummary.put("teacherId", attendance.getTeacherId());
+        classSummary.put("day", DateUtils.formatDayKey(day));
+        classSummary.put("students", Collections.singletonMap(
+                attendance.getStudentId(), attendance.getStatus()));
+        classSummary.put("updatedAt", FieldValue.serverTimestamp());
+
+        batch.set(firestore.collection(Constants.COLLECTION_CLASS_DAILY_SUMMARY)
+                        .document(AttendanceRepository.buildClassSummaryId(attendance.getTeacherId(), day)),
+                classSummary, SetOptions.merge());
+    }
+
+    // Lee el contenido actual del documento desde el espejo local
+    private Object loadLocalDocument(PendingMutation mutation) {
+        switch (mutation.getCollection()) {
+            case Constants.COLLECTION_ATTENDANCE:
+                AttendanceEntity attendance =
+                        database.attendanceDao().getById(mutation.getDocumentId());
+                return attendance != null ? attendance.toModel() : null;
+            case Constants.COLLECTION_GRADES:
+                GradeEntity grade = database.gradeDao().getById(mutation.getDocumentId());
+                return grade != null ? grade.toModel() : null;
+            default:
+                Log.w(TAG, "Colección sin soporte en el outbox: " + mutation.getCollection());
+                return null;
+        }
+    }
+
+    private void markSynced(PendingMutation mutation) {
+        switch (mutation.getCollection()) {
+            case Constants.COLLECTION_ATTENDANCE:
+                database.attendanceDao().markSynced(mutation.getDocumentId());
+                break;
+            case Constants.COLLECTION_GRADES:
+                database.gradeDao().markSynced(mutation.getDocumentId());
+                break;
+        }
     }
 
     private void cleanOldCache() {
-        // Limpiar datos en caché que tienen más de 7 días
+        // Limpiar del espejo local los datos ya sincronizados más viejos que CACHE_MAX_AGE_DAYS
         Log.d(TAG, "Cleaning old cache...");
+        Date limit = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(CACHE_MAX_AGE_DAYS));
+        int attendance = database.attendanceDao().deleteSyncedBefore(limit);
+        int notices = database.noticeDao().deleteBefore(limit);
+        Log.d(TAG, "Cache limpio. Asistencias: " + attendance + ", avisos: " + notices);
     }
 }
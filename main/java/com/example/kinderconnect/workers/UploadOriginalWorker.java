@@ -0,0 +1,39 @@
+package com.example.kinderconnect.workers;
+
+import android.content.Context;
+import android.net.Uri;
+import androidx.annotation.NonNull;
+import androidx.work.Data;
+import androidx.work.WorkerParameters;
+import com.example.kinderconnect.utils.Constants;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.storage.FirebaseStorage;
+import com.google.firebase.storage.StorageReference;
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paso 2 (en paralelo con el 3): sube la copia local del original (resumible) y guarda
+ * su URL de descarga.
+ */
+public class UploadOriginalWorker extends MediaUploadWorker {
+
+    public UploadOriginalWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    @Override
+    protected void runStep(Data.Builder output) throws Exception {
+        Data input = getInputData();
+        String storagePath = input.getString(KEY_ORIGINAL_PATH);
+        String contentType = Constants.MEDIA_IMAGE.equals(input.getString(KEY_MEDIA_TYPE))
+                ? "image/jpeg" : "video/mp4";
+
+        uploadResumable(storagePath, new File(input.getString(KEY_LOCAL_ORIGINAL)),
+                contentType, STEP_UPLOAD_ORIGINAL);
+
+        StorageReference ref = FirebaseStorage.getInstance().getReference().child(storagePath);
+        Uri url = Tasks.await(ref.getDownloadUrl(), TASK_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+        output.putString(KEY_MEDIA_URL, url.toString());
+    }
+}
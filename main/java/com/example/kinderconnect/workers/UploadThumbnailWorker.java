@@ -0,0 +1,37 @@
+package com.example.kinderconnect.workers;
+
+import android.content.Context;
+import android.net.Uri;
+import androidx.annotation.NonNull;
+import androidx.work.Data;
+import androidx.work.WorkerParameters;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.storage.FirebaseStorage;
+import com.google.firebase.storage.StorageReference;
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paso 3 (en paralelo con el 2): sube el thumbnail, si PrepareMediaWorker pudo generarlo.
+ */
+public class UploadThumbnailWorker extends MediaUploadWorker {
+
+    public UploadThumbnailWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    @Override
+    protected void runStep(Data.Builder output) throws Exception {
+        Data input = getInputData();
+        String localThumb = input.getString(KEY_LOCAL_THUMB);
+        if (localThumb == null) return;
+
+        String storagePath = input.getString(KEY_THUMB_PATH);
+        uploadResumable(storagePath, new File(localThumb), "image/jpeg", STEP_UPLOAD_THUMBNAIL);
+
+        StorageReference ref = FirebaseStorage.getInstance().getReference().child(storagePath);
+
+        Uri url = Tasks.await(ref.getDownloadUrl(), TASK_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+        output.putString(KEY_THUMB_URL, url.toString());
+    }
+}
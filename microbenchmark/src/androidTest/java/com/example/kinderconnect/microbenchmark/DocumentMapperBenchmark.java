@@ -0,0 +1,194 @@
+package com.example.kinderconnect.microbenchmark;
+
+import android.content.Context;
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.kinderconnect.data.mapper.DocumentMapper;
+import com.example.kinderconnect.data.mapper.GradeMapper;
+import com.example.kinderconnect.data.mapper.NoticeMapper;
+import com.example.kinderconnect.data.mapper.StudentMapper;
+import com.example.kinderconnect.data.model.Grade;
+import com.example.kinderconnect.data.model.Notice;
+import com.example.kinderconnect.data.model.Student;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.FirebaseOptions;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.util.CustomClassMapper;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compara el mapper reflexivo de Firestore (el que usa toObject) contra los DocumentMapper
+ * escritos a mano, sobre 1k y 10k documentos ya descargados. Solo se mide la conversión
+ * del mapa de datos al modelo, no la red ni la caché.
+ */
+@RunWith(Parameterized.class)
+public class DocumentMapperBenchmark {
+
+    @Parameterized.Parameters(name = "docs={0}")
+    public static Collection<Object[]> sizes() {
+        return Arrays.asList(new Object[][]{{1_000}, {10_000}});
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int size;
+    private final List<DocumentReference> noticeRefs = new ArrayList<>();
+    private final List<Map<String, Object>> notices = new ArrayList<>();
+    private final List<DocumentReference> gradeRefs = new ArrayList<>();
+    private final List<Map<String, Object>> grades = new ArrayList<>();
+    private final List<DocumentReference> studentRefs = new ArrayList<>();
+    private final List<Map<String, Object>> students = new ArrayList<>();
+
+    public DocumentMapperBenchmark(int size) {
+        this.size = size;
+    }
+
+    @Before
+    public void setUp() {
+        FirebaseFirestore firestore = FirebaseFirestore.getInstance(benchmarkApp());
+        Timestamp now = Timestamp.now();
+
+        for (int i = 0; i < size; i++) {
+            noticeRefs.add(firestore.collection("notices").document("notice" + i));
+            notices.add(noticeData(i, now));
+            gradeRefs.add(firestore.collection("grades").document("student" + i + "_p1"));
+            grades.add(gradeData(i, now));
+            studentRefs.add(firestore.collection("students").document("student" + i));
+            students.add(studentData(i, now));
+        }
+    }
+
+    @Test
+    public void notice_reflection() {
+        reflection(noticeRefs, notices, Notice.class);
+    }
+
+    @Test
+    public void notice_handWritten() {
+        handWritten(noticeRefs, notices, NoticeMapper.INSTANCE);
+    }
+
+    @Test
+    public void grade_reflection() {
+        reflection(gradeRefs, grades, Grade.class);
+    }
+
+    @Test
+    public void grade_handWritten() {
+        handWritten(gradeRefs, grades, GradeMapper.INSTANCE);
+    }
+
+    @Test
+    public void student_reflection() {
+        reflection(studentRefs, students, Student.class);
+    }
+
+    @Test
+    public void student_handWritten() {
+        handWritten(studentRefs, students, StudentMapper.INSTANCE);
+    }
+
+    private <T> void reflection(List<DocumentReference> refs, List<Map<String, Object>> data,
+                                Class<T> type) {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            List<T> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                // Lo mismo que hace DocumentSnapshot.toObject() por dentro
+                result.add(CustomClassMapper.convertToCustomClass(data.get(i), type, refs.get(i)));
+            }
+        }
+    }
+
+    private <T> void handWritten(List<DocumentReference> refs, List<Map<String, Object>> data,
+                                 DocumentMapper<T> mapper) {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            List<T> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(mapper.map(refs.get(i).getId(), data.get(i)));
+            }
+        }
+    }
+
+    // App de Firebase local: solo se crean referencias, no se hace ninguna llamada de red
+    private static FirebaseApp benchmarkApp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        for (FirebaseApp app : FirebaseApp.getApps(context)) {
+            if ("benchmark".equals(app.getName())) return app;
+        }
+        FirebaseOptions options = new FirebaseOptions.Builder()
+                .setApplicationId("1:000000000000:android:0000000000000000")
+                .setProjectId("kinderconnect-benchmark")
+                .setApiKey("benchmark")
+                .build();
+        return FirebaseApp.initializeApp(context, options, "benchmark");
+    }
+
+    private static Map<String, Object> noticeData(int i, Timestamp now) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("teacherId", "teacher" + (i % 20));
+        data.put("teacherName", "Maestra " + (i % 20));
+        data.put("title", "Aviso " + i);
+        data.put("description", "Recordatorio para los padres del grupo sobre la actividad " + i);
+        data.put("category", "RECORDATORIO");
+        data.put("scope", i % 4 == 0 ? "SCHOOL" : "GROUP");
+        data.put("groupName", "2 A");
+        data.put("validUntil", now);
+        data.put("imageUrl", i % 3 == 0 ? "https://example.com/notices/" + i + ".jpg" : null);
+        data.put("documentUrl", null);
+        data.put("publishedAt", now);
+        return data;
+    }
+
+    private static Map<String, Object> gradeData(int i, Timestamp now) {
+        Map<String, Object> evaluations = new HashMap<>();
+        for (int area = 1; area <= 6; area++) {
+            Map<String, Object> evaluation = new HashMap<>();
+            evaluation.put("areaName", "Área " + area);
+            evaluation.put("level", "ESPERADO");
+            evaluation.put("observations", "Sin observaciones");
+            evaluations.put("area" + area, evaluation);
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("studentId", "student" + i);
+        data.put("teacherId", "teacher" + (i % 20));
+        data.put("period", 1L);
+        data.put("evaluations", evaluations);
+        data.put("createdAt", now);
+        data.put("updatedAt", now);
+        return data;
+    }
+
+    private static Map<String, Object> studentData(int i, Timestamp now) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("fullName", "Alumno " + i);
+        data.put("birthDate", now);
+        data.put("parentId", "parent" + i);
+        data.put("teacherId", "teacher" + (i % 20));
+        data.put("groupName", "2 A");
+        data.put("photoUrl", "https://example.com/students/" + i + ".jpg");
+        data.put("emergencyContact", "5550000" + (i % 1000));
+        data.put("allergies", "Ninguna");
+        data.put("medicalNotes", null);
+        data.put("createdAt", now);
+        data.put("active", true);
+        return data;
+    }
+}